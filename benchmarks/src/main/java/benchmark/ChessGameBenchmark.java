@@ -0,0 +1,161 @@
+package benchmark;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import chess.LegalMoveCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the ChessGame methods the server and client call on every move.
+ * After the first call the plain benchmarks are served from the shared legal
+ * move cache; the Cold variants empty it before every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ChessGameBenchmark {
+
+    @Param({"start", "middlegame"})
+    public String position;
+
+    private ChessGame game;
+    private ChessBoard startBoard;
+    private ChessGame.TeamColor startTurn;
+    private List<ChessMove> legalMoves;
+    private int nextMove;
+
+    /**
+     * A copy of the position that makeMove can change, rebuilt before every call
+     */
+    @State(Scope.Thread)
+    public static class FreshGame {
+        private ChessGame game;
+        private ChessMove move;
+
+        @Setup(Level.Invocation)
+        public void reset(ChessGameBenchmark benchmark) {
+            game = new ChessGame();
+            game.setBoard(new ChessBoard(benchmark.startBoard));
+            game.setTeamTurn(benchmark.startTurn);
+            move = benchmark.legalMoves.get(benchmark.nextMove);
+            benchmark.nextMove = (benchmark.nextMove + 1) % benchmark.legalMoves.size();
+        }
+    }
+
+    /**
+     * Empties the shared legal move cache before every call, so a benchmark that
+     * uses it measures a position seen for the first time instead of a cache hit
+     */
+    @State(Scope.Thread)
+    public static class ColdCache {
+
+        @Setup(Level.Invocation)
+        public void clear() {
+            LegalMoveCache.getShared().clear();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void loadPosition() {
+        game = Positions.load(position.equals("start") ? Positions.START : Positions.MIDDLEGAME);
+        startBoard = new ChessBoard(game.getBoard());
+        startTurn = game.getTeamTurn();
+
+        legalMoves = new ArrayList<>();
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPosition square = new ChessPosition(row, col);
+                ChessPiece piece = game.getBoard().getPiece(square);
+                if (piece != null && piece.getTeamColor() == startTurn) {
+                    legalMoves.addAll(game.validMoves(square));
+                }
+            }
+        }
+    }
+
+    /**
+     * All legal moves for the side to move, the way the client asks for them one square at a time
+     */
+    @Benchmark
+    public void validMoves(Blackhole blackhole) {
+        ChessBoard board = game.getBoard();
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPosition square = new ChessPosition(row, col);
+                ChessPiece piece = board.getPiece(square);
+                if (piece != null && piece.getTeamColor() == startTurn) {
+                    Collection<ChessMove> moves = game.validMoves(square);
+                    blackhole.consume(moves);
+                }
+            }
+        }
+    }
+
+    /**
+     * validMoves for a position that is not cached yet: the first square generates
+     * every legal move and the rest are served from the cache
+     */
+    @Benchmark
+    public void validMovesCold(ColdCache cold, Blackhole blackhole) {
+        validMoves(blackhole);
+    }
+
+    /**
+     * One legal move, including the validation and game status updates makeMove does
+     */
+    @Benchmark
+    public ChessGame makeMove(FreshGame fresh) throws InvalidMoveException {
+        fresh.game.makeMove(fresh.move);
+        return fresh.game;
+    }
+
+    @Benchmark
+    public ChessGame makeMoveCold(FreshGame fresh, ColdCache cold) throws InvalidMoveException {
+        fresh.game.makeMove(fresh.move);
+        return fresh.game;
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return game.isInCheckmate(startTurn);
+    }
+
+    @Benchmark
+    public boolean isInStalemate() {
+        return game.isInStalemate(startTurn);
+    }
+
+    @Benchmark
+    public boolean isInCheckmateCold(FreshGame fresh, ColdCache cold) {
+        return fresh.game.isInCheckmate(startTurn);
+    }
+
+    @Benchmark
+    public boolean isInStalemateCold(FreshGame fresh, ColdCache cold) {
+        return fresh.game.isInStalemate(startTurn);
+    }
+}
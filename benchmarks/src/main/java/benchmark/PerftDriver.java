@@ -0,0 +1,92 @@
+package benchmark;
+
+import chess.ChessGame;
+import chess.ParallelAnalysis;
+import chess.Perft;
+
+/**
+ * Runs perft on the standard test positions, checking each node count against
+ * the published value and reporting nodes per second. Each position is then
+ * searched again at the deepest depth with the parallel perft, reporting the
+ * throughput of every worker thread.
+ * <p>
+ * This rule set has no castling or en passant, so only positions and depths
+ * where neither can occur are listed. The one exception is the endgame at depth
+ * 3, whose published count of 2812 includes 2 en passant captures.
+ * <p>
+ * Usage: PerftDriver [max depth]
+ */
+public class PerftDriver {
+
+    private record TestPosition(String name, String fen, long[] expected) {
+    }
+
+    private static final TestPosition[] POSITIONS = {
+            new TestPosition("start", Positions.START,
+                    new long[]{20, 400, 8_902, 197_281}),
+            new TestPosition("endgame", Positions.ENDGAME,
+                    new long[]{14, 191, 2_810}),
+            new TestPosition("middlegame", Positions.MIDDLEGAME,
+                    new long[]{46, 2_079, 89_890, 3_894_594}),
+    };
+
+    private static final String USAGE = "Usage: PerftDriver [max depth], where max depth is at least 1";
+
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? parseMaxDepth(args[0]) : 4;
+        boolean allPassed = true;
+
+        for (TestPosition position : POSITIONS) {
+            ChessGame game = Positions.load(position.fen());
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                long start = System.nanoTime();
+                long nodes = Perft.perft(game, depth);
+                long elapsed = System.nanoTime() - start;
+
+                String result = "";
+                if (depth <= position.expected().length) {
+                    long expected = position.expected()[depth - 1];
+                    result = nodes == expected ? "ok" : "FAILED (expected " + expected + ")";
+                    allPassed &= nodes == expected;
+                }
+
+                System.out.printf("%-10s depth %d: %,12d nodes %8.1f ms %,14.0f nodes/sec %s%n",
+                        position.name(), depth, nodes, elapsed / 1e6, nodes / (elapsed / 1e9), result);
+            }
+        }
+
+        for (TestPosition position : POSITIONS) {
+            ChessGame game = Positions.load(position.fen());
+            ParallelAnalysis.PerftReport report = ParallelAnalysis.perft(game, maxDepth);
+
+            if (maxDepth <= position.expected().length) {
+                allPassed &= report.nodes() == position.expected()[maxDepth - 1];
+            }
+
+            System.out.printf("%-10s parallel depth %d: %,12d nodes %8.1f ms %,14.0f nodes/sec%n",
+                    position.name(), maxDepth, report.nodes(), report.elapsedNanos() / 1e6, report.nodesPerSecond());
+            for (ParallelAnalysis.ThreadThroughput thread : report.threads()) {
+                System.out.printf("    %-32s %,12d nodes %,14.0f nodes/sec%n",
+                        thread.thread(), thread.nodes(), thread.nodesPerSecond());
+            }
+        }
+
+        if (!allPassed) {
+            System.exit(1);
+        }
+    }
+
+    private static int parseMaxDepth(String arg) {
+        int maxDepth = 0;
+        try {
+            maxDepth = Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            // Falls through to the usage message
+        }
+        if (maxDepth < 1) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        return maxDepth;
+    }
+}
@@ -0,0 +1,21 @@
+package benchmark;
+
+import chess.ChessGame;
+
+/**
+ * Standard test positions as FEN records
+ */
+public class Positions {
+
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    // "Position 3" from the Chess Programming Wiki perft results
+    public static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+
+    // "Position 6" from the Chess Programming Wiki perft results
+    public static final String MIDDLEGAME = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+    public static ChessGame load(String fen) {
+        return ChessGame.fromFen(fen);
+    }
+}
@@ -0,0 +1,67 @@
+package benchmark;
+
+import chess.ChessGame;
+import chess.engine.LazySmp;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+
+/**
+ * Searches each of the standard test positions with a fixed time budget,
+ * reporting the depth reached, best move, score, nodes per second and the
+ * share of cutoffs made by the first move tried. Each position is then
+ * searched to a fixed depth with and without quiescence search, reporting the
+ * nodes and time each took. The middlegame is then searched to a fixed depth
+ * with Lazy SMP at each thread count up to the number of processors,
+ * reporting the speedup and efficiency against one thread.
+ * <p>
+ * Usage: SearchDriver [milliseconds per position] [scaling depth] [quiescence depth]
+ */
+public class SearchDriver {
+
+    private static final String[][] POSITIONS = {
+            {"start", Positions.START},
+            {"endgame", Positions.ENDGAME},
+            {"middlegame", Positions.MIDDLEGAME},
+    };
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int scalingDepth = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+        int quiescenceDepth = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Search search = new Search();
+
+        for (String[] position : POSITIONS) {
+            ChessGame game = Positions.load(position[1]);
+            SearchResult result = search.search(game, SearchLimits.time(millis));
+
+            System.out.printf("%-10s depth %2d: %-8s score %6d %,12d nodes %8.1f ms %,14.0f nodes/sec first move cutoffs %4.1f%%%n",
+                    position[0], result.depth(), result.bestMove(), result.score(), result.nodes(),
+                    result.elapsedNanos() / 1e6, result.nodesPerSecond(),
+                    search.getOrderingStatistics().firstMoveCutoffRate() * 100);
+        }
+
+        for (String[] position : POSITIONS) {
+            ChessGame game = Positions.load(position[1]);
+            for (boolean quiescence : new boolean[]{false, true}) {
+                Search fixedDepth = new Search(new TranspositionTable(64));
+                fixedDepth.setQuiescence(quiescence);
+                SearchResult result = fixedDepth.search(game, SearchLimits.depth(quiescenceDepth));
+
+                System.out.printf("%-10s depth %2d %-16s %-8s score %6d %,12d nodes %8.1f ms%n",
+                        position[0], result.depth(), quiescence ? "with quiescence" : "no quiescence",
+                        result.bestMove(), result.score(), result.nodes(), result.elapsedNanos() / 1e6);
+            }
+        }
+
+        ChessGame game = Positions.load(Positions.MIDDLEGAME);
+        for (LazySmp.ScalingReport report : LazySmp.measureScaling(game, SearchLimits.depth(scalingDepth),
+                LazySmp.defaultThreads(), 64)) {
+            SearchResult result = report.result();
+            System.out.printf("%3d threads depth %2d: %,12d nodes %8.1f ms %,14.0f nodes/sec speedup %5.2f efficiency %4.0f%%%n",
+                    report.threads(), result.depth(), result.nodes(), result.elapsedNanos() / 1e6,
+                    result.nodesPerSecond(), report.speedup(), report.efficiency() * 100);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package dataaccess;
 
+import chess.ChessGame;
+import chess.ChessMove;
 import model.AuthData;
 import model.GameData;
 import model.UserData;
@@ -23,4 +25,5 @@ public interface DAO {
     void removeGame(int gameID) throws DataAccessException;
     void clear() throws DataAccessException;
     void updateGame(GameData gameData) throws DataAccessException;
+    void addMove(int gameID, ChessGame game, ChessMove move) throws DataAccessException;
 }
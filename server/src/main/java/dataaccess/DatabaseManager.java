@@ -80,11 +80,23 @@ public class DatabaseManager {
             statement += "\tgameName VARCHAR(255) NOT NULL,\n";
 //            statement += "\tgameState TEXT NOT NULL,\n";
             statement += "\tjson TEXT DEFAULT NULL,\n";
+            statement += "\tplyCount INT NOT NULL DEFAULT 0,\n";
+            statement += "\tsnapshotPly INT NOT NULL DEFAULT 0,\n";
             statement += "\tPRIMARY KEY (gameID)\n);";
             try (var preparedStatement = conn.prepareStatement(statement)) {
                 preparedStatement.executeUpdate();
             }
 
+            // Create the moves table, one row per move made in a game, numbered by ply
+            statement = "CREATE TABLE IF NOT EXISTS moves (\n";
+            statement += "\tgameID INT NOT NULL,\n";
+            statement += "\tply INT NOT NULL,\n";
+            statement += "\tmove SMALLINT NOT NULL,\n";
+            statement += "\tPRIMARY KEY (gameID, ply)\n);";
+            try (var preparedStatement = conn.prepareStatement(statement)) {
+                preparedStatement.executeUpdate();
+            }
+
         } catch (SQLException e) {
             throw new DataAccessException(e.getMessage());
         }
@@ -3,6 +3,8 @@ package dataaccess;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import chess.ChessGame;
+import chess.ChessMove;
 import model.AuthData;
 import model.GameData;
 import model.UserData;
@@ -83,12 +85,12 @@ public class MemoryUserDAO implements DAO {
 
     public void addBlackPlayerToGame(GameData game, String username) {
         game = new GameData(game.gameID(), game.whiteUsername(), username, game.gameName(), game.game());
-        games.add(game);
+        updateGame(game);
     }
 
     public void addWhitePlayerToGame(GameData game, String username) {
         game = new GameData(game.gameID(), username, game.blackUsername(), game.gameName(), game.game());
-        games.add(game);
+        updateGame(game);
     }
 
     public void removeGame(int gameID) {
@@ -110,6 +112,16 @@ public class MemoryUserDAO implements DAO {
         }
     }
 
+    public void addMove(int gameID, ChessGame game, ChessMove move) {
+        for (GameData g : games) {
+            if (g.gameID() == gameID) {
+                games.remove(g);
+                games.add(new GameData(gameID, g.whiteUsername(), g.blackUsername(), g.gameName(), game));
+                break;
+            }
+        }
+    }
+
     public void clear() {
         auths.clear();
         games.clear();
@@ -1,6 +1,11 @@
 package dataaccess;
 
 import chess.ChessGame;
+import chess.ChessMove;
+import chess.GameCodec;
+import chess.GameRecord;
+import chess.InvalidMoveException;
+import chess.Move;
 import com.google.gson.Gson;
 import model.AuthData;
 import model.GameData;
@@ -12,13 +17,28 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.sql.Statement.RETURN_GENERATED_KEYS;
 import static java.sql.Types.NULL;
 
 public class MySQLDAO implements DAO {
 
+    /**
+     * A game as it stands after replaying the moves logged since its snapshot
+     *
+     * @param snapshot the games.json value the moves were replayed on
+     * @param plyCount the ply the game was replayed to
+     * @param game     the game, packed by GameCodec
+     */
+    private record ReplayedGame(String snapshot, int plyCount, byte[] game) {
+    }
+
+    // Keyed by gameID; an entry is only used while its row still has the same snapshot and ply count
+    private final Map<Integer, ReplayedGame> replayedGames = new ConcurrentHashMap<>();
+
     public MySQLDAO() throws DataAccessException {
         configureDatabase();
     }
@@ -173,8 +193,10 @@ public class MySQLDAO implements DAO {
         String blackUsername = game.blackUsername();
         String gameName = game.gameName();
         gameName = new Gson().toJson(gameName);
-        var json = new Gson().toJson(game.game());
+        // Games are stored packed by GameCodec, as Base64 so they fit the existing text column
+        var json = GameCodec.encodeToString(game.game());
 
+        // A new game has no moves yet, so its snapshot is at ply 0 (plyCount and snapshotPly default to 0)
         var statement = "INSERT INTO games (gameID, whiteUsername, blackUsername, gameName, json) ";
         statement += "VALUES ('" + gameID + "', '" + whiteUsername + "', '";
         statement += blackUsername + "', '" + gameName + "', '" + json + "');";
@@ -187,41 +209,53 @@ public class MySQLDAO implements DAO {
     }
 
     public GameData getGame(int gameID) throws DataAccessException {
-       Collection<GameData> games = getGames();
+        Collection<GameData> games = readGames(gameID);
 
-        for (GameData game : games) {
-            if (game.gameID() == gameID) {
-                return game;
-            }
+        if (games.isEmpty()) {
+            throw new DataAccessException("Error: game not found");
         }
-
-        throw new DataAccessException("Error: game not found");
+        return games.iterator().next();
     }
 
     public Collection<GameData> getGames() throws DataAccessException {
+        return readGames(null);
+    }
+
+    /**
+     * Reads one game, or every game if gameID is null, bringing each snapshot up
+     * to date with the moves logged since it was written
+     */
+    private Collection<GameData> readGames(Integer gameID) throws DataAccessException {
         Collection<GameData> games = new ArrayList<>();
 
         try (var conn = DatabaseManager.getConnection()) {
-            var statement = "SELECT gameID, whiteUsername, blackUsername, gameName, json FROM games";
-            var ps = conn.prepareStatement(statement);
-            try (var rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    int gameID = rs.getInt("gameID");
-                    String whiteUsername = rs.getString("whiteUsername");
-                    String blackUsername = rs.getString("blackUsername");
-                    String gameName = rs.getString("gameName");
-                    gameName = new Gson().fromJson(gameName, String.class);
-                    var json = rs.getString("json");
-                    ChessGame gameState = new Gson().fromJson(json, ChessGame.class);
-
-                    if (Objects.equals(whiteUsername, "null")) {
-                        whiteUsername = null;
-                    }
-                    if (Objects.equals(blackUsername, "null")) {
-                        blackUsername = null;
+            var statement = "SELECT gameID, whiteUsername, blackUsername, gameName, json, plyCount, snapshotPly FROM games";
+            if (gameID != null) {
+                statement += " WHERE gameID = ?";
+            }
+            try (var ps = conn.prepareStatement(statement)) {
+                if (gameID != null) {
+                    ps.setInt(1, gameID);
+                }
+                try (var rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int id = rs.getInt("gameID");
+                        String whiteUsername = rs.getString("whiteUsername");
+                        String blackUsername = rs.getString("blackUsername");
+                        String gameName = rs.getString("gameName");
+                        gameName = new Gson().fromJson(gameName, String.class);
+                        var json = rs.getString("json");
+                        ChessGame gameState = currentGame(conn, id, json, rs.getInt("plyCount"), rs.getInt("snapshotPly"));
+
+                        if (Objects.equals(whiteUsername, "null")) {
+                            whiteUsername = null;
+                        }
+                        if (Objects.equals(blackUsername, "null")) {
+                            blackUsername = null;
+                        }
+
+                        games.add(new GameData(id, whiteUsername, blackUsername, gameName, gameState));
                     }
-
-                    games.add(new GameData(gameID, whiteUsername, blackUsername, gameName, gameState));
                 }
             }
         } catch (Exception e) {
@@ -231,39 +265,172 @@ public class MySQLDAO implements DAO {
         return games;
     }
 
+    /**
+     * Decodes a game's snapshot and replays the moves logged after it. A game
+     * that has been replayed is remembered until its next move, so reading the
+     * same games again does not replay them again.
+     */
+    private ChessGame currentGame(Connection conn, int gameID, String json, int plyCount, int snapshotPly)
+            throws SQLException, InvalidMoveException {
+        if (plyCount == snapshotPly) {
+            return decodeGame(json);
+        }
+
+        ReplayedGame replayed = replayedGames.get(gameID);
+        if (replayed != null && replayed.plyCount() == plyCount && replayed.snapshot().equals(json)) {
+            return GameCodec.decode(replayed.game());
+        }
+
+        GameRecord record = new GameRecord(decodeGame(json), GameRecord.DEFAULT_SNAPSHOT_INTERVAL);
+        var statement = "SELECT move FROM moves WHERE gameID = ? AND ply > ? AND ply <= ? ORDER BY ply";
+        try (var ps = conn.prepareStatement(statement)) {
+            ps.setInt(1, gameID);
+            ps.setInt(2, snapshotPly);
+            ps.setInt(3, plyCount);
+            try (var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    record.append(Move.toChessMove(rs.getShort("move")));
+                }
+            }
+        }
+        if (snapshotPly + record.getPlyCount() != plyCount) {
+            throw new SQLException("Error: game " + gameID + " is missing moves after ply " + snapshotPly);
+        }
+
+        ChessGame game = record.getGame();
+        replayedGames.put(gameID, new ReplayedGame(json, plyCount, GameCodec.encode(game)));
+        return game;
+    }
+
+    /**
+     * Appends one move to a game's move log. The move is numbered from the ply
+     * count kept in the game's row, and the full game is only rewritten as a
+     * snapshot every few plies and when the game ends.
+     *
+     * @param game the game with the move already made
+     */
+    public void addMove(int gameID, ChessGame game, ChessMove move) throws DataAccessException {
+        try (var conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int ply;
+                String snapshot;
+                var statement = "SELECT plyCount, json FROM games WHERE gameID = ? FOR UPDATE";
+                try (var ps = conn.prepareStatement(statement)) {
+                    ps.setInt(1, gameID);
+                    try (var rs = ps.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new DataAccessException("Error: game not found");
+                        }
+                        ply = rs.getInt("plyCount") + 1;
+                        snapshot = rs.getString("json");
+                    }
+                }
+
+                statement = "INSERT INTO moves (gameID, ply, move) VALUES (?, ?, ?)";
+                try (var ps = conn.prepareStatement(statement)) {
+                    ps.setInt(1, gameID);
+                    ps.setInt(2, ply);
+                    ps.setShort(3, (short) Move.fromChessMove(move));
+                    ps.executeUpdate();
+                }
+
+                boolean gameOver = game.getWinner() != null || game.isDraw();
+                boolean writeSnapshot = gameOver || GameRecord.isSnapshotPly(ply, GameRecord.DEFAULT_SNAPSHOT_INTERVAL);
+                if (writeSnapshot) {
+                    snapshot = GameCodec.encodeToString(game);
+                    statement = "UPDATE games SET plyCount = ?, snapshotPly = ?, json = ? WHERE gameID = ?";
+                } else {
+                    statement = "UPDATE games SET plyCount = ? WHERE gameID = ?";
+                }
+                try (var ps = conn.prepareStatement(statement)) {
+                    ps.setInt(1, ply);
+                    if (writeSnapshot) {
+                        ps.setInt(2, ply);
+                        ps.setString(3, snapshot);
+                        ps.setInt(4, gameID);
+                    } else {
+                        ps.setInt(2, gameID);
+                    }
+                    ps.executeUpdate();
+                }
+
+                conn.commit();
+                replayedGames.put(gameID, new ReplayedGame(snapshot, ply, GameCodec.encode(game)));
+            } catch (SQLException | DataAccessException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException(e.getMessage());
+        }
+    }
+
+    static ChessGame decodeGame(String json) {
+        // Rows written before games were packed still hold Gson JSON, whose board ChessBoardAdapter reads
+        if (json.startsWith("{")) {
+            return new Gson().fromJson(json, ChessGame.class);
+        }
+        return GameCodec.decodeString(json);
+    }
+
     public void addBlackPlayerToGame(GameData game, String username) throws DataAccessException {
         game = new GameData(game.gameID(), game.whiteUsername(), username, game.gameName(), game.game());
-        addGame(game);
+        updateGame(game);
     }
 
     public void addWhitePlayerToGame(GameData game, String username) throws DataAccessException {
         game = new GameData(game.gameID(), username, game.blackUsername(), game.gameName(), game.game());
-        addGame(game);
+        updateGame(game);
     }
 
+    /**
+     * Deletes a game along with its move log
+     */
     public void removeGame(int gameID) throws DataAccessException {
-        Connection conn = DatabaseManager.getConnection();
-
-        var statement = "DELETE FROM games WHERE gameID='" + gameID + "';";
-
-        try (var preparedStatement = conn.prepareStatement(statement)) {
-            preparedStatement.executeUpdate();
+        try (var conn = DatabaseManager.getConnection()) {
+            try (var ps = conn.prepareStatement("DELETE FROM moves WHERE gameID = ?")) {
+                ps.setInt(1, gameID);
+                ps.executeUpdate();
+            }
+            try (var ps = conn.prepareStatement("DELETE FROM games WHERE gameID = ?")) {
+                ps.setInt(1, gameID);
+                ps.executeUpdate();
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        replayedGames.remove(gameID);
     }
 
+    /**
+     * Rewrites a game's players, name and state. The game must be up to date
+     * with every logged move, as games from getGame are, so it becomes the
+     * snapshot at the current ply and the move log is kept.
+     */
     public void updateGame(GameData game) throws DataAccessException {
-        int gameID = game.gameID();
-
-        removeGame(gameID);
-        addGame(game);
+        var statement = "UPDATE games SET whiteUsername = ?, blackUsername = ?, gameName = ?, json = ?, "
+                        + "snapshotPly = plyCount WHERE gameID = ?";
+
+        try (var conn = DatabaseManager.getConnection(); var ps = conn.prepareStatement(statement)) {
+            ps.setString(1, game.whiteUsername());
+            ps.setString(2, game.blackUsername());
+            ps.setString(3, new Gson().toJson(game.gameName()));
+            ps.setString(4, GameCodec.encodeToString(game.game()));
+            ps.setInt(5, game.gameID());
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DataAccessException(e.getMessage());
+        }
+        replayedGames.remove(game.gameID());
     }
 
     public void clear() throws DataAccessException {
         clearHelper("users");
         clearHelper("auths");
         clearHelper("games");
+        clearHelper("moves");
+        replayedGames.clear();
     }
 
     private void clearHelper(String table) throws DataAccessException {
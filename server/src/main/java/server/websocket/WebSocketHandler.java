@@ -3,6 +3,7 @@ package server.websocket;
 import chess.ChessGame;
 import chess.ChessMove;
 import chess.ChessPosition;
+import chess.GameStatus;
 import com.google.gson.Gson;
 import dataaccess.DAO;
 import dataaccess.DataAccessException;
@@ -155,8 +156,8 @@ public class WebSocketHandler {
 
         GameData updatedGameData = new GameData(gameData.gameID(), gameData.whiteUsername(), gameData.blackUsername(), gameData.gameName(), game);
 
-        try { // Update game and send updated board
-            updateGameData(updatedGameData);
+        try { // Log the move and send updated board
+            dao.addMove(gameData.gameID(), game, chessMove);
             loadGame = new ServerMessage(updatedGameData.game());
             connections.send(session, new Gson().toJson(loadGame));
             connections.broadcast(session, new Gson().toJson(loadGame), String.valueOf(gameData.gameID()));
@@ -249,38 +250,26 @@ public class WebSocketHandler {
     }
 
     private void checkGameStatus(Session session, GameData gameData) throws IOException {
-        checkGameStatusHelper(session, gameData, ChessGame.TeamColor.WHITE);
-        checkGameStatusHelper(session, gameData, ChessGame.TeamColor.BLACK);
-    }
-
-    private void checkGameStatusHelper (Session session, GameData gameData, ChessGame.TeamColor color) throws IOException {
-        ChessGame game = gameData.game();
+        // Only the team now to move can be in check, checkmate or stalemate
+        GameStatus status = gameData.game().getGameStatus();
+        ChessGame.TeamColor color = status.teamColor();
         ChessGame.TeamColor otherColor = switch (color) {
             case BLACK -> ChessGame.TeamColor.WHITE;
             case WHITE -> ChessGame.TeamColor.BLACK;
         };
 
-        if (game.isInCheckmate(color)) {
+        if (status.checkmate()) {
             notification = new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, "\nCheckmate!\n" + otherColor + " wins!\n");
-            connections.broadcast(session, new Gson().toJson(notification), String.valueOf(gameData.gameID()));
-            connections.send(session, new Gson().toJson(notification));
-        }
-
-        if (game.isInStalemate(color)) {
+        } else if (status.stalemate()) {
             notification = new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, "\nStalemate!\nIt's a draw!\n");
-            connections.broadcast(session, new Gson().toJson(notification), String.valueOf(gameData.gameID()));
-            connections.send(session, new Gson().toJson(notification));
-        }
-
-        if (isGameOver(session, gameData)) {
+        } else if (status.inCheck()) {
+            notification = new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, "\n" + color.toString() + " is in check!\n");
+        } else {
             return;
         }
 
-        if (game.isInCheck(color)) {
-            notification = new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, "\n" + color.toString() + " is in check!\n");
-            connections.broadcast(session, new Gson().toJson(notification), String.valueOf(gameData.gameID()));
-            connections.send(session, new Gson().toJson(notification));
-        }
+        connections.broadcast(session, new Gson().toJson(notification), String.valueOf(gameData.gameID()));
+        connections.send(session, new Gson().toJson(notification));
     }
 
     private boolean isGameOver(Session session, GameData gameData) throws IOException {
@@ -266,8 +266,6 @@ public class Services {
     }
 
     private void addPlayerToGame(GameData game, String username, ChessGame.TeamColor color) throws DataAccessException {
-        dao.removeGame(game.gameID());
-
         if (color == ChessGame.TeamColor.WHITE) {
             dao.addWhitePlayerToGame(game, username);
         } else {
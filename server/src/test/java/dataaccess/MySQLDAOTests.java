@@ -0,0 +1,91 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.InvalidMoveException;
+import model.GameData;
+import org.junit.jupiter.api.*;
+
+public class MySQLDAOTests {
+
+    private MySQLDAO dao;
+
+    @BeforeEach // Clears database before each test
+    public void clear() throws DataAccessException {
+        dao = new MySQLDAO();
+        dao.clear();
+    }
+
+    @Test
+    @DisplayName("Moves read back the same on both sides of a snapshot")
+    public void movesAcrossSnapshot() throws DataAccessException, InvalidMoveException {
+        ChessGame game = new ChessGame();
+        dao.addGame(new GameData(1, null, null, "game1", new ChessGame()));
+
+        for (int ply = 1; ply <= 20; ply++) {
+            makeMove(1, game);
+
+            Assertions.assertEquals(game.toFen(), dao.getGame(1).game().toFen(), "Game differs after " + ply + " plies");
+            // A second DAO has nothing cached, so it replays the moves from the stored snapshot
+            Assertions.assertEquals(game.toFen(), new MySQLDAO().getGame(1).game().toFen(),
+                    "Replayed game differs after " + ply + " plies");
+        }
+        Assertions.assertEquals(game.toFen(), dao.getGames().iterator().next().game().toFen());
+    }
+
+    @Test
+    @DisplayName("Moves are numbered from the game's row, not its move clock")
+    public void gameFromPosition() throws DataAccessException, InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 3 30");
+        dao.addGame(new GameData(1, null, null, "game1", ChessGame.fromFen(game.toFen())));
+
+        for (int ply = 1; ply <= 18; ply++) {
+            makeMove(1, game);
+        }
+
+        Assertions.assertEquals(game.toFen(), dao.getGame(1).game().toFen());
+        Assertions.assertEquals(game.toFen(), new MySQLDAO().getGame(1).game().toFen());
+    }
+
+    @Test
+    @DisplayName("Removing a game removes its moves")
+    public void removeGameRemovesMoves() throws DataAccessException, InvalidMoveException {
+        ChessGame game = new ChessGame();
+        dao.addGame(new GameData(1, null, null, "game1", new ChessGame()));
+        for (int ply = 1; ply <= 5; ply++) {
+            makeMove(1, game);
+        }
+
+        dao.removeGame(1);
+        dao.addGame(new GameData(1, null, null, "game1", new ChessGame()));
+        Assertions.assertEquals(new ChessGame().toFen(), new MySQLDAO().getGame(1).game().toFen());
+
+        ChessGame fresh = new ChessGame();
+        makeMove(1, fresh);
+        Assertions.assertEquals(fresh.toFen(), new MySQLDAO().getGame(1).game().toFen());
+    }
+
+    @Test
+    @DisplayName("Joining a game keeps its moves")
+    public void joiningKeepsMoves() throws DataAccessException, InvalidMoveException {
+        ChessGame game = new ChessGame();
+        dao.addGame(new GameData(1, null, null, "game1", new ChessGame()));
+        for (int ply = 1; ply <= 5; ply++) {
+            makeMove(1, game);
+        }
+
+        dao.addWhitePlayerToGame(dao.getGame(1), "white");
+        makeMove(1, game);
+
+        GameData stored = new MySQLDAO().getGame(1);
+        Assertions.assertEquals("white", stored.whiteUsername());
+        Assertions.assertNull(stored.blackUsername());
+        Assertions.assertEquals(game.toFen(), stored.game().toFen());
+    }
+
+    private void makeMove(int gameID, ChessGame game) throws DataAccessException, InvalidMoveException {
+        ChessMove move = game.allValidMoves().iterator().next();
+        game.makeMove(move);
+        dao.addMove(gameID, game, move);
+    }
+}
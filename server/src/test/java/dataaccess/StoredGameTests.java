@@ -0,0 +1,42 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.GameCodec;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.*;
+
+public class StoredGameTests {
+
+    // A games.json value as stored before games were packed: black to move, white king e1 and pawn e4, black king e8
+    private static final String BASELINE_JSON = "{\"teamTurn\":\"BLACK\",\"chessBoard\":{\"squares\":["
+            + "[null,null,null,null,{\"pieceType\":\"KING\",\"teamColor\":\"WHITE\",\"hasMoved\":false},null,null,null],"
+            + "[null,null,null,null,null,null,null,null],[null,null,null,null,null,null,null,null],"
+            + "[null,null,null,null,{\"pieceType\":\"PAWN\",\"teamColor\":\"WHITE\",\"hasMoved\":true},null,null,null],"
+            + "[null,null,null,null,null,null,null,null],[null,null,null,null,null,null,null,null],"
+            + "[null,null,null,null,null,null,null,null],"
+            + "[null,null,null,null,{\"pieceType\":\"KING\",\"teamColor\":\"BLACK\",\"hasMoved\":false},null,null,null]"
+            + "]},\"isDraw\":false}";
+
+    @Test
+    @DisplayName("Baseline Gson JSON decodes with its pieces")
+    public void baselineJson() {
+        ChessGame game = MySQLDAO.decodeGame(BASELINE_JSON);
+
+        Assertions.assertEquals("4k3/8/8/8/4P3/8/8/4K3 b - - 0 1", game.toFen());
+        Assertions.assertEquals(ChessPiece.WHITE_PAWN, game.getBoard().getPiece(new ChessPosition(4, 5)));
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+        Assertions.assertNull(game.getWinner());
+        Assertions.assertEquals(5, game.allValidMoves().size());
+    }
+
+    @Test
+    @DisplayName("Current Gson JSON and packed games decode to the same game")
+    public void currentFormats() {
+        ChessGame game = ChessGame.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 b - - 3 10");
+
+        Assertions.assertEquals(game.toFen(), MySQLDAO.decodeGame(new Gson().toJson(game)).toFen());
+        Assertions.assertEquals(game.toFen(), MySQLDAO.decodeGame(GameCodec.encodeToString(game)).toFen());
+    }
+}
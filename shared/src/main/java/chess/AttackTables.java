@@ -0,0 +1,118 @@
+package chess;
+
+/**
+ * Precomputed attack and push tables for the non-sliding pieces, built once
+ * when the class loads. Each table has one bitboard per square, so finding
+ * where a knight, king or pawn can go is a single array lookup.
+ */
+public final class AttackTables {
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    private static final long[][] PAWN_PUSHES = new long[2][64];
+    private static final long[][] PAWN_DOUBLE_PUSHES = new long[2][64];
+
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    private static final long[] PROMOTION_RANKS = {MoveGenerator.RANK_8, MoveGenerator.RANK_1};
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            long bit = 1L << square;
+
+            long oneColumn = ((bit << 1) & MoveGenerator.NOT_FILE_A) | ((bit >>> 1) & MoveGenerator.NOT_FILE_H);
+            long twoColumns = ((bit << 2) & MoveGenerator.NOT_FILE_AB) | ((bit >>> 2) & MoveGenerator.NOT_FILE_GH);
+            KNIGHT_ATTACKS[square] = (oneColumn << 16) | (oneColumn >>> 16) | (twoColumns << 8) | (twoColumns >>> 8);
+
+            long row = oneColumn | bit;
+            KING_ATTACKS[square] = oneColumn | (row << 8) | (row >>> 8);
+
+            PAWN_ATTACKS[BitBoard.WHITE][square] = ((bit << 7) & MoveGenerator.NOT_FILE_H)
+                                                   | ((bit << 9) & MoveGenerator.NOT_FILE_A);
+            PAWN_ATTACKS[BitBoard.BLACK][square] = ((bit >>> 9) & MoveGenerator.NOT_FILE_H)
+                                                   | ((bit >>> 7) & MoveGenerator.NOT_FILE_A);
+
+            PAWN_PUSHES[BitBoard.WHITE][square] = bit << 8;
+            PAWN_PUSHES[BitBoard.BLACK][square] = bit >>> 8;
+
+            // Pawns may move two squares from their starting rank
+            PAWN_DOUBLE_PUSHES[BitBoard.WHITE][square] = (bit & MoveGenerator.RANK_2) << 16;
+            PAWN_DOUBLE_PUSHES[BitBoard.BLACK][square] = (bit & MoveGenerator.RANK_7) >>> 16;
+        }
+
+        // Two squares on the same rank, file or diagonal see each other on an empty board
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                if (from == to) {
+                    continue;
+                }
+                long ends = (1L << from) | (1L << to);
+                if ((MagicBitboards.rookAttacks(from, 0) & (1L << to)) != 0) {
+                    BETWEEN[from][to] = MagicBitboards.rookAttacks(from, ends) & MagicBitboards.rookAttacks(to, ends);
+                    LINE[from][to] = (MagicBitboards.rookAttacks(from, 0) & MagicBitboards.rookAttacks(to, 0)) | ends;
+                } else if ((MagicBitboards.bishopAttacks(from, 0) & (1L << to)) != 0) {
+                    BETWEEN[from][to] = MagicBitboards.bishopAttacks(from, ends) & MagicBitboards.bishopAttacks(to, ends);
+                    LINE[from][to] = (MagicBitboards.bishopAttacks(from, 0) & MagicBitboards.bishopAttacks(to, 0)) | ends;
+                }
+            }
+        }
+    }
+
+    private AttackTables() {
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * @return the squares a pawn of the given side attacks from a square
+     */
+    public static long pawnAttacks(int color, int square) {
+        return PAWN_ATTACKS[color][square];
+    }
+
+    /**
+     * @return the square a pawn of the given side moves forward one to, or 0 on the last rank
+     */
+    public static long pawnPushes(int color, int square) {
+        return PAWN_PUSHES[color][square];
+    }
+
+    /**
+     * @return the square a pawn of the given side moves forward two to, or 0 if it is
+     * not on its starting rank
+     */
+    public static long pawnDoublePushes(int color, int square) {
+        return PAWN_DOUBLE_PUSHES[color][square];
+    }
+
+    /**
+     * @return the squares strictly between two squares on the same rank, file or
+     * diagonal, or 0 if they are not aligned
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * @return every square on the full rank, file or diagonal through two aligned
+     * squares, or 0 if they are not aligned
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    /**
+     * @return the rank the given side's pawns promote on
+     */
+    public static long promotionRank(int color) {
+        return PROMOTION_RANKS[color];
+    }
+}
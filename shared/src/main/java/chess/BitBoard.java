@@ -0,0 +1,432 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of a chessboard. Every piece type and color has its
+ * own 64-bit mask, and squares are numbered 0-63 starting at a1, so the bit for
+ * a position is (row - 1) * 8 + (column - 1). A 64-byte mailbox alongside the
+ * masks answers "what is on this square" with a single array read.
+ * <p>
+ * Pieces are identified by an index of color * 6 + type, where the type index
+ * matches the ordinal of {@link ChessPiece.PieceType}.
+ */
+public class BitBoard {
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int KING = 0;
+    public static final int QUEEN = 1;
+    public static final int BISHOP = 2;
+    public static final int KNIGHT = 3;
+    public static final int ROOK = 4;
+    public static final int PAWN = 5;
+
+    public static final int EMPTY = -1;
+    public static final int NO_SQUARE = -1;
+
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+    public static final int ALL_CASTLING = 15;
+
+    private static final ChessPiece.PieceType[] PIECE_TYPES = ChessPiece.PieceType.values();
+
+    private static final int CAPTURED_SHIFT = 24;
+    private static final int CASTLING_SHIFT = 28;
+
+    // Rights kept when a piece moves from or to each square; moving a king or rook, or capturing a rook, loses them
+    private static final int[] CASTLING_MASKS = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASKS, ALL_CASTLING);
+        CASTLING_MASKS[square(1, 5)] = ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_MASKS[square(1, 1)] = ~WHITE_QUEENSIDE;
+        CASTLING_MASKS[square(1, 8)] = ~WHITE_KINGSIDE;
+        CASTLING_MASKS[square(8, 5)] = ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_MASKS[square(8, 1)] = ~BLACK_QUEENSIDE;
+        CASTLING_MASKS[square(8, 8)] = ~BLACK_KINGSIDE;
+    }
+
+    private final byte[] mailbox = new byte[64];
+    private final long[] pieces = new long[12];
+    private final long[] colors = new long[2];
+    private long occupied;
+    private final int[] kingSquares = {NO_SQUARE, NO_SQUARE};
+    private long zobristKey;
+    private int castlingRights;
+
+    // Evaluation totals from PieceSquareTables, kept up to date as pieces are placed and removed
+    private int middlegameScore;
+    private int endgameScore;
+    private int phase;
+
+    // Undo records for makeMove: the packed move (with its promotion and flags), the captured piece
+    // and the castling rights before the move
+    private int[] undoStack = new int[256];
+    private int undoCount = 0;
+
+    public BitBoard() {
+        Arrays.fill(mailbox, (byte) EMPTY);
+    }
+
+    public BitBoard(BitBoard otherBoard) {
+        System.arraycopy(otherBoard.mailbox, 0, this.mailbox, 0, mailbox.length);
+        System.arraycopy(otherBoard.pieces, 0, this.pieces, 0, pieces.length);
+        System.arraycopy(otherBoard.colors, 0, this.colors, 0, colors.length);
+        this.occupied = otherBoard.occupied;
+        this.kingSquares[WHITE] = otherBoard.kingSquares[WHITE];
+        this.kingSquares[BLACK] = otherBoard.kingSquares[BLACK];
+        this.zobristKey = otherBoard.zobristKey;
+        this.castlingRights = otherBoard.castlingRights;
+        this.middlegameScore = otherBoard.middlegameScore;
+        this.endgameScore = otherBoard.endgameScore;
+        this.phase = otherBoard.phase;
+    }
+
+    /**
+     * Places a piece on an empty square
+     *
+     * @param square the square index to add the piece to
+     * @param piece  the piece index to add
+     */
+    public void setPiece(int square, int piece) {
+        long bit = 1L << square;
+        mailbox[square] = (byte) piece;
+        pieces[piece] |= bit;
+        colors[colorOf(piece)] |= bit;
+        occupied |= bit;
+        zobristKey ^= Zobrist.pieceSquare(piece, square);
+        middlegameScore += PieceSquareTables.middlegame(piece, square);
+        endgameScore += PieceSquareTables.endgame(piece, square);
+        phase += PieceSquareTables.phase(piece);
+        if (typeOf(piece) == KING) {
+            updateKingSquare(colorOf(piece));
+        }
+    }
+
+    /**
+     * Removes whatever piece is on a square
+     *
+     * @param square the square index to clear
+     */
+    public void clearSquare(int square) {
+        int piece = pieceAt(square);
+        if (piece != EMPTY) {
+            removePiece(square, piece);
+        }
+    }
+
+    private void removePiece(int square, int piece) {
+        long mask = ~(1L << square);
+        mailbox[square] = (byte) EMPTY;
+        pieces[piece] &= mask;
+        colors[colorOf(piece)] &= mask;
+        occupied &= mask;
+        zobristKey ^= Zobrist.pieceSquare(piece, square);
+        middlegameScore -= PieceSquareTables.middlegame(piece, square);
+        endgameScore -= PieceSquareTables.endgame(piece, square);
+        phase -= PieceSquareTables.phase(piece);
+        if (typeOf(piece) == KING) {
+            updateKingSquare(colorOf(piece));
+        }
+    }
+
+    private void updateKingSquare(int color) {
+        long king = pieces[pieceIndex(color, KING)];
+        kingSquares[color] = king == 0 ? NO_SQUARE : Long.numberOfTrailingZeros(king);
+    }
+
+    /**
+     * Makes a move in place, remembering what it needs to take the move back
+     * with unmakeMove. Moves must be undone in the reverse order they were made.
+     *
+     * @param move packed move to make
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int piece = pieceAt(from);
+        int captured = pieceAt(to);
+
+        if (undoCount == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoCount * 2);
+        }
+        undoStack[undoCount++] = move | ((captured + 1) << CAPTURED_SHIFT) | (castlingRights << CASTLING_SHIFT);
+        updateCastlingRights(from, to);
+
+        removePiece(from, piece);
+        if (captured != EMPTY) {
+            removePiece(to, captured);
+        }
+        if (Move.isPromotion(move)) {
+            piece = pieceIndex(colorOf(piece), Move.promotionType(move));
+        }
+        setPiece(to, piece);
+    }
+
+    /**
+     * Takes back the last move made with makeMove
+     */
+    public void unmakeMove() {
+        int record = undoStack[--undoCount];
+        int from = Move.from(record);
+        int to = Move.to(record);
+        int piece = pieceAt(to);
+        int captured = ((record >>> CAPTURED_SHIFT) & 0xF) - 1;
+        castlingRights = record >>> CASTLING_SHIFT;
+
+        removePiece(to, piece);
+        if (Move.isPromotion(record)) {
+            piece = pieceIndex(colorOf(piece), PAWN);
+        }
+        setPiece(from, piece);
+        if (captured != EMPTY) {
+            setPiece(to, captured);
+        }
+    }
+
+    /**
+     * Removes the castling rights lost by a piece moving between two squares.
+     * Castling is not a legal move in this rule set, so the rights are kept as
+     * board state only and are not part of the Zobrist key.
+     *
+     * @param from the square the piece moved from
+     * @param to   the square the piece moved to
+     */
+    public void updateCastlingRights(int from, int to) {
+        castlingRights &= CASTLING_MASKS[from] & CASTLING_MASKS[to];
+    }
+
+    /**
+     * @return the castling rights still held, as a combination of the castling flags
+     */
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    public void setCastlingRights(int castlingRights) {
+        this.castlingRights = castlingRights;
+    }
+
+    /**
+     * Determines if a square is attacked by the given side, looking outward from
+     * the square for each kind of attacker and stopping at the first one found
+     *
+     * @param square  the square that may be attacked
+     * @param byColor the side that may be attacking it
+     * @return True if any piece of that side attacks the square
+     */
+    public boolean isSquareAttacked(int square, int byColor) {
+        return isSquareAttacked(square, byColor, occupied);
+    }
+
+    /**
+     * Determines if a square would be attacked by the given side if the board had
+     * the given occupancy, such as with a king lifted off its square
+     *
+     * @param square   the square that may be attacked
+     * @param byColor  the side that may be attacking it
+     * @param occupied the occupancy sliding attackers are blocked by
+     * @return True if any piece of that side attacks the square
+     */
+    public boolean isSquareAttacked(int square, int byColor, long occupied) {
+        // A pawn on a square our own pawn would attack from here is attacking us
+        if ((AttackTables.pawnAttacks(byColor ^ 1, square) & getPieces(byColor, PAWN)) != 0) {
+            return true;
+        }
+        if ((AttackTables.knightAttacks(square) & getPieces(byColor, KNIGHT)) != 0) {
+            return true;
+        }
+        if ((AttackTables.kingAttacks(square) & getPieces(byColor, KING)) != 0) {
+            return true;
+        }
+
+        long queens = getPieces(byColor, QUEEN);
+        long rooks = getPieces(byColor, ROOK) | queens;
+        if (rooks != 0 && (MagicBitboards.rookAttacks(square, occupied) & rooks) != 0) {
+            return true;
+        }
+        long bishops = getPieces(byColor, BISHOP) | queens;
+        return bishops != 0 && (MagicBitboards.bishopAttacks(square, occupied) & bishops) != 0;
+    }
+
+    /**
+     * @param square  the square that may be attacked
+     * @param byColor the side that may be attacking it
+     * @return bitboard of every piece of that side attacking the square
+     */
+    public long attackersOf(int square, int byColor) {
+        long queens = getPieces(byColor, QUEEN);
+        return (AttackTables.pawnAttacks(byColor ^ 1, square) & getPieces(byColor, PAWN))
+               | (AttackTables.knightAttacks(square) & getPieces(byColor, KNIGHT))
+               | (AttackTables.kingAttacks(square) & getPieces(byColor, KING))
+               | (MagicBitboards.rookAttacks(square, occupied) & (getPieces(byColor, ROOK) | queens))
+               | (MagicBitboards.bishopAttacks(square, occupied) & (getPieces(byColor, BISHOP) | queens));
+    }
+
+    /**
+     * Finds the pieces of both sides attacking a square if the board had the
+     * given occupancy, such as with some attackers already lifted off for a
+     * capture sequence. Pieces missing from the occupancy are still returned
+     * and must be masked out by the caller.
+     *
+     * @param square   the square that may be attacked
+     * @param occupied the occupancy sliding attackers are blocked by
+     * @return bitboard of every piece attacking the square
+     */
+    public long attackersOf(int square, long occupied) {
+        long queens = pieces[pieceIndex(WHITE, QUEEN)] | pieces[pieceIndex(BLACK, QUEEN)];
+        long rooks = pieces[pieceIndex(WHITE, ROOK)] | pieces[pieceIndex(BLACK, ROOK)] | queens;
+        long bishops = pieces[pieceIndex(WHITE, BISHOP)] | pieces[pieceIndex(BLACK, BISHOP)] | queens;
+        return (AttackTables.pawnAttacks(BLACK, square) & getPieces(WHITE, PAWN))
+               | (AttackTables.pawnAttacks(WHITE, square) & getPieces(BLACK, PAWN))
+               | (AttackTables.knightAttacks(square) & (getPieces(WHITE, KNIGHT) | getPieces(BLACK, KNIGHT)))
+               | (AttackTables.kingAttacks(square) & (getPieces(WHITE, KING) | getPieces(BLACK, KING)))
+               | (MagicBitboards.rookAttacks(square, occupied) & rooks)
+               | (MagicBitboards.bishopAttacks(square, occupied) & bishops);
+    }
+
+    /**
+     * @return True if the given side's king is attacked, or false if it has no king
+     */
+    public boolean isInCheck(int color) {
+        int kingSquare = kingSquares[color];
+        return kingSquare != NO_SQUARE && isSquareAttacked(kingSquare, color ^ 1);
+    }
+
+    /**
+     * @return the piece index on a square, or EMPTY if there is no piece there
+     */
+    public int pieceAt(int square) {
+        return mailbox[square];
+    }
+
+    public void clear() {
+        Arrays.fill(mailbox, (byte) EMPTY);
+        Arrays.fill(pieces, 0L);
+        Arrays.fill(colors, 0L);
+        occupied = 0L;
+        Arrays.fill(kingSquares, NO_SQUARE);
+        zobristKey = 0L;
+        castlingRights = 0;
+        middlegameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+    }
+
+    /**
+     * @return the Zobrist key of the pieces on this board, which does not include
+     * whose turn it is
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * @return the middlegame material and piece-square total, from white's point of view
+     */
+    public int getMiddlegameScore() {
+        return middlegameScore;
+    }
+
+    /**
+     * @return the endgame material and piece-square total, from white's point of view
+     */
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    /**
+     * @return the game phase from the pieces left, see {@link PieceSquareTables}
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the square of the given side's king, or NO_SQUARE if it has no king
+     */
+    public int getKingSquare(int color) {
+        return kingSquares[color];
+    }
+
+    public long getPieces(int piece) {
+        return pieces[piece];
+    }
+
+    public long getPieces(int color, int type) {
+        return pieces[color * 6 + type];
+    }
+
+    public long getOccupancy(int color) {
+        return colors[color];
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    public static int square(int row, int col) {
+        return (row - 1) * 8 + (col - 1);
+    }
+
+    public static int square(ChessPosition position) {
+        return square(position.getRow(), position.getColumn());
+    }
+
+    public static int rowOf(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    public static int colOf(int square) {
+        return (square & 7) + 1;
+    }
+
+    public static int colorOf(int piece) {
+        return piece < 6 ? WHITE : BLACK;
+    }
+
+    public static int typeOf(int piece) {
+        return piece < 6 ? piece : piece - 6;
+    }
+
+    public static int pieceIndex(int color, int type) {
+        return color * 6 + type;
+    }
+
+    public static int pieceIndex(ChessPiece piece) {
+        return pieceIndex(colorIndex(piece.getTeamColor()), piece.getPieceType().ordinal());
+    }
+
+    public static int colorIndex(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? WHITE : BLACK;
+    }
+
+    public static ChessGame.TeamColor teamColor(int color) {
+        return color == WHITE ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+    }
+
+    public static ChessPiece.PieceType pieceType(int type) {
+        return PIECE_TYPES[type];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BitBoard that = (BitBoard) o;
+        return zobristKey == that.zobristKey && occupied == that.occupied && Arrays.equals(pieces, that.pieces);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobristKey);
+    }
+}
@@ -1,18 +1,22 @@
 package chess;
 
-import java.util.Arrays;
-import java.util.Objects;
-
+import com.google.gson.annotations.JsonAdapter;
 
 /**
  * A chessboard that can hold and rearrange chess pieces.
  * <p>
+ * The pieces are held in a {@link BitBoard}, and getPiece hands out the shared
+ * immutable piece instances, so a board is a handful of primitive arrays.
+ * Gson still reads and writes a board as its grid of squares (see
+ * {@link ChessBoardAdapter}).
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
+@JsonAdapter(ChessBoardAdapter.class)
 public class ChessBoard implements Cloneable {
 
-    private ChessPiece[][] squares = new ChessPiece[8][8];
+    private BitBoard bitBoard = new BitBoard();
 
     public ChessBoard() {
     }
@@ -24,7 +28,11 @@ public class ChessBoard implements Cloneable {
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        squares[position.getRow() - 1][position.getColumn() - 1] = piece;
+        int square = BitBoard.square(position);
+        bitBoard.clearSquare(square);
+        if (piece != null) {
+            bitBoard.setPiece(square, BitBoard.pieceIndex(piece));
+        }
     }
 
     /**
@@ -35,7 +43,7 @@ public class ChessBoard implements Cloneable {
      * position
      */
     public ChessPiece getPiece(ChessPosition position) {
-        return squares[position.getRow() - 1][position.getColumn() - 1];
+        return ChessPiece.of(bitBoard.pieceAt(BitBoard.square(position)));
     }
 
     public void movePiece(ChessMove move) {
@@ -43,12 +51,18 @@ public class ChessBoard implements Cloneable {
         ChessPosition end = move.getEndPosition();
         ChessPiece.PieceType promotionType = move.getPromotionPiece();
 
-        if (promotionType != null) {
-            squares[end.getRow() - 1][end.getColumn() - 1] = new ChessPiece(getPiece(start).getTeamColor(), promotionType);
-        } else {
-            squares[end.getRow() - 1][end.getColumn() - 1] = getPiece(start);
+        int startSquare = BitBoard.square(start);
+        int endSquare = BitBoard.square(end);
+        int piece = bitBoard.pieceAt(startSquare);
+        if (piece != BitBoard.EMPTY && promotionType != null) {
+            piece = BitBoard.pieceIndex(BitBoard.colorOf(piece), promotionType.ordinal());
         }
-        squares[start.getRow() - 1][start.getColumn() - 1] = null;
+        bitBoard.clearSquare(startSquare);
+        bitBoard.clearSquare(endSquare);
+        if (piece != BitBoard.EMPTY) {
+            bitBoard.setPiece(endSquare, piece);
+        }
+        bitBoard.updateCastlingRights(startSquare, endSquare);
     }
 
     /**
@@ -56,134 +70,121 @@ public class ChessBoard implements Cloneable {
      * (How the game of chess normally starts)
      */
     public void resetBoard() {
-        squares = new ChessPiece[8][8];
-
-        // Variables to simplify chessboard setup
-        ChessGame.TeamColor black = ChessGame.TeamColor.BLACK;
-        ChessGame.TeamColor white = ChessGame.TeamColor.WHITE;
-
-        ChessPiece.PieceType pawn = ChessPiece.PieceType.PAWN;
-        ChessPiece.PieceType rook = ChessPiece.PieceType.ROOK;
-        ChessPiece.PieceType knight = ChessPiece.PieceType.KNIGHT;
-        ChessPiece.PieceType bishop = ChessPiece.PieceType.BISHOP;
-        ChessPiece.PieceType queen = ChessPiece.PieceType.QUEEN;
-        ChessPiece.PieceType king = ChessPiece.PieceType.KING;
-
+        bitBoard.clear();
 
         // Add black pieces
-        addPiece(new ChessPosition(8,1), new ChessPiece(black, rook));
-        addPiece(new ChessPosition(8,2), new ChessPiece(black, knight));
-        addPiece(new ChessPosition(8,3), new ChessPiece(black, bishop));
-        addPiece(new ChessPosition(8,4), new ChessPiece(black, queen));
-        addPiece(new ChessPosition(8,5), new ChessPiece(black, king));
-        addPiece(new ChessPosition(8,6), new ChessPiece(black, bishop));
-        addPiece(new ChessPosition(8,7), new ChessPiece(black, knight));
-        addPiece(new ChessPosition(8,8), new ChessPiece(black, rook));
+        addPiece(ChessPosition.of(8,1), ChessPiece.BLACK_ROOK);
+        addPiece(ChessPosition.of(8,2), ChessPiece.BLACK_KNIGHT);
+        addPiece(ChessPosition.of(8,3), ChessPiece.BLACK_BISHOP);
+        addPiece(ChessPosition.of(8,4), ChessPiece.BLACK_QUEEN);
+        addPiece(ChessPosition.of(8,5), ChessPiece.BLACK_KING);
+        addPiece(ChessPosition.of(8,6), ChessPiece.BLACK_BISHOP);
+        addPiece(ChessPosition.of(8,7), ChessPiece.BLACK_KNIGHT);
+        addPiece(ChessPosition.of(8,8), ChessPiece.BLACK_ROOK);
 
         for (int i = 1; i < 9; i++) {
-            addPiece(new ChessPosition(7,i), new ChessPiece(black, pawn));
+            addPiece(ChessPosition.of(7,i), ChessPiece.BLACK_PAWN);
         }
 
         // Add white pieces
-        addPiece(new ChessPosition(1,1), new ChessPiece(white, rook));
-        addPiece(new ChessPosition(1,2), new ChessPiece(white, knight));
-        addPiece(new ChessPosition(1,3), new ChessPiece(white, bishop));
-        addPiece(new ChessPosition(1,4), new ChessPiece(white, queen));
-        addPiece(new ChessPosition(1,5), new ChessPiece(white, king));
-        addPiece(new ChessPosition(1,6), new ChessPiece(white, bishop));
-        addPiece(new ChessPosition(1,7), new ChessPiece(white, knight));
-        addPiece(new ChessPosition(1,8), new ChessPiece(white, rook));
+        addPiece(ChessPosition.of(1,1), ChessPiece.WHITE_ROOK);
+        addPiece(ChessPosition.of(1,2), ChessPiece.WHITE_KNIGHT);
+        addPiece(ChessPosition.of(1,3), ChessPiece.WHITE_BISHOP);
+        addPiece(ChessPosition.of(1,4), ChessPiece.WHITE_QUEEN);
+        addPiece(ChessPosition.of(1,5), ChessPiece.WHITE_KING);
+        addPiece(ChessPosition.of(1,6), ChessPiece.WHITE_BISHOP);
+        addPiece(ChessPosition.of(1,7), ChessPiece.WHITE_KNIGHT);
+        addPiece(ChessPosition.of(1,8), ChessPiece.WHITE_ROOK);
 
         for (int i = 1; i < 9; i++) {
-            addPiece(new ChessPosition(2,i), new ChessPiece(white, pawn));
+            addPiece(ChessPosition.of(2,i), ChessPiece.WHITE_PAWN);
         }
+
+        // Kings and rooks start unmoved
+        bitBoard.setCastlingRights(BitBoard.ALL_CASTLING);
+    }
+
+    /**
+     * @return the piece placement field of a FEN record for this board
+     */
+    public String toFen() {
+        return Fen.toFen(this);
+    }
+
+    /**
+     * Builds a board from a FEN piece placement, or from a full FEN record
+     *
+     * @param fen the piece placement
+     * @return a new board with those pieces
+     * @throws IllegalArgumentException if the placement cannot be read
+     */
+    public static ChessBoard fromFen(String fen) {
+        return Fen.toBoard(fen);
     }
 
     public String toString() {
-        String string = "   a b c d e f g h \n8 |";
-        for (int i = 7; i > -1; i--) {
-            for (int j = 0; j < 8; j++) {
-                ChessPiece piece = squares[i][j];
-                if (piece != null) {
-                    if (piece.getPieceType() == ChessPiece.PieceType.ROOK && piece.getTeamColor() == ChessGame.TeamColor.WHITE) {
-                        string = string + "R";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.KNIGHT && piece.getTeamColor() == ChessGame.TeamColor.WHITE) {
-                        string = string + "N";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.BISHOP && piece.getTeamColor() == ChessGame.TeamColor.WHITE) {
-                        string = string + "B";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.QUEEN && piece.getTeamColor() == ChessGame.TeamColor.WHITE) {
-                        string = string + "Q";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.KING && piece.getTeamColor() == ChessGame.TeamColor.WHITE) {
-                        string = string + "K";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.PAWN && piece.getTeamColor() == ChessGame.TeamColor.WHITE) {
-                        string = string + "P";
-                    }
-                    if (piece.getPieceType() == ChessPiece.PieceType.ROOK && piece.getTeamColor() == ChessGame.TeamColor.BLACK) {
-                        string = string + "r";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.KNIGHT && piece.getTeamColor() == ChessGame.TeamColor.BLACK) {
-                        string = string + "n";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.BISHOP && piece.getTeamColor() == ChessGame.TeamColor.BLACK) {
-                        string = string + "b";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.QUEEN && piece.getTeamColor() == ChessGame.TeamColor.BLACK) {
-                        string = string + "q";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.KING && piece.getTeamColor() == ChessGame.TeamColor.BLACK) {
-                        string = string + "k";
-                    } else if (piece.getPieceType() == ChessPiece.PieceType.PAWN && piece.getTeamColor() == ChessGame.TeamColor.BLACK) {
-                        string = string + "p";
-                    }
-                } else {
-                    string = string + " ";
-                }
-
-                string = string + "|";
-
-                if (j == 7) {
-                    string = string + " " + (i + 1) + "\n";
-                    if (i != 0) {
-                        string = string + i + " " + "|";
-                    }
-                }
+        StringBuilder string = new StringBuilder(180);
+        string.append("   a b c d e f g h \n");
+
+        for (int row = 8; row >= 1; row--) {
+            string.append(row).append(" |");
+            for (int col = 1; col <= 8; col++) {
+                int piece = bitBoard.pieceAt(BitBoard.square(row, col));
+                string.append(piece == BitBoard.EMPTY ? ' ' : Fen.PIECE_CHARS[piece]).append('|');
             }
+            string.append(' ').append(row).append('\n');
         }
 
-        string = string + "   a b c d e f g h \n";
-
-        return string;
+        string.append("   a b c d e f g h \n");
+        return string.toString();
     }
 
+    /**
+     * Builds a grid of the pieces on the board, indexed [row - 1][column - 1].
+     * The grid is a snapshot; changing it does not change the board.
+     *
+     * @return the pieces on the board, with null for empty squares
+     */
     public ChessPiece[][] getSquares() {
+        ChessPiece[][] squares = new ChessPiece[8][8];
+        for (int square = 0; square < 64; square++) {
+            squares[square >>> 3][square & 7] = ChessPiece.of(bitBoard.pieceAt(square));
+        }
         return squares;
     }
 
+    /**
+     * @return the bitboard mirror of this board, kept in sync by every board update
+     */
+    public BitBoard getBitBoard() {
+        return bitBoard;
+    }
+
     public boolean kingExists() {
-        for (int i = 1; i < 9; i++) {
-            for (int j = 1; j < 9; j++) {
-                ChessPiece piece = this.getPiece(new ChessPosition(i,j));
-                if (piece == null) {
-                    continue;
-                }
-                if (piece.getPieceType() == ChessPiece.PieceType.KING) {
-                    return true;
-                }
-            }
+        return bitBoard.getKingSquare(BitBoard.WHITE) != BitBoard.NO_SQUARE
+               || bitBoard.getKingSquare(BitBoard.BLACK) != BitBoard.NO_SQUARE;
+    }
+
+    /**
+     * Gets the position of a team's king, which the board tracks as pieces are
+     * added and moved
+     *
+     * @param color the team whose king to find
+     * @return the king's position, or null if that team has no king
+     */
+    public ChessPosition getKingPosition(ChessGame.TeamColor color) {
+        int square = bitBoard.getKingSquare(BitBoard.colorIndex(color));
+        if (square == BitBoard.NO_SQUARE) {
+            return null;
         }
-        return false;
+        return ChessPosition.of(square);
     }
 
     @Override
     public ChessBoard clone() {
         try {
             ChessBoard cloned = (ChessBoard) super.clone();
-            cloned.squares = new ChessPiece[8][8];
-
-            for (int i = 1; i < 9; i ++) {
-                for (int j = 1; j < 9; j++) {
-                    ChessPiece piece = this.squares[i-1][j-1];
-                    if (piece != null) {
-                        cloned.squares[i - 1][j - 1] = piece.clone();
-                    }
-                }
-            }
+            cloned.bitBoard = new BitBoard(this.bitBoard);
 
             return cloned;
         } catch (CloneNotSupportedException e) {
@@ -192,16 +193,7 @@ public class ChessBoard implements Cloneable {
     }
 
     public ChessBoard(ChessBoard otherBoard) {
-        this.squares = new ChessPiece[8][8];
-
-        for (int i = 1; i < 9; i ++) {
-            for (int j = 1; j < 9; j++) {
-                ChessPiece piece = otherBoard.squares[i-1][j-1];
-                if (piece != null) {
-                    this.squares[i - 1][j - 1] = new ChessPiece(piece);
-                }
-            }
-        }
+        this.bitBoard = new BitBoard(otherBoard.bitBoard);
     }
 
     @Override
@@ -213,11 +205,11 @@ public class ChessBoard implements Cloneable {
             return false;
         }
         ChessBoard that = (ChessBoard) o;
-        return Objects.deepEquals(squares, that.squares);
+        return bitBoard.equals(that.bitBoard);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(squares);
+        return bitBoard.hashCode();
     }
 }
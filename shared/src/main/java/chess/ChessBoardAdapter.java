@@ -0,0 +1,140 @@
+package chess;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Keeps the Gson form of a {@link ChessBoard} the same as before the board was
+ * backed by a {@link BitBoard}: an 8 by 8 "squares" grid, indexed
+ * [row - 1][column - 1], of pieces or nulls. The castling rights are written
+ * alongside it. The bitboards, Zobrist key and evaluation totals are not
+ * written; they are rebuilt from the pieces on the way back in.
+ * <p>
+ * JSON stored by older versions, which has no castling rights and may give
+ * pieces a "hasMoved" field, still reads. Its castling rights are worked out
+ * from which kings and rooks are still on their starting squares.
+ */
+class ChessBoardAdapter extends TypeAdapter<ChessBoard> {
+
+    // King square, then rook square, for each castling flag
+    private static final int[][] CASTLING_SQUARES = {
+            {BitBoard.square(1, 5), BitBoard.square(1, 8)}, {BitBoard.square(1, 5), BitBoard.square(1, 1)},
+            {BitBoard.square(8, 5), BitBoard.square(8, 8)}, {BitBoard.square(8, 5), BitBoard.square(8, 1)}
+    };
+    private static final int[] CASTLING_FLAGS = {
+            BitBoard.WHITE_KINGSIDE, BitBoard.WHITE_QUEENSIDE, BitBoard.BLACK_KINGSIDE, BitBoard.BLACK_QUEENSIDE
+    };
+
+    @Override
+    public void write(JsonWriter out, ChessBoard board) throws IOException {
+        if (board == null) {
+            out.nullValue();
+            return;
+        }
+        BitBoard bitBoard = board.getBitBoard();
+
+        out.beginObject();
+        out.name("squares").beginArray();
+        for (int row = 1; row <= 8; row++) {
+            out.beginArray();
+            for (int col = 1; col <= 8; col++) {
+                int piece = bitBoard.pieceAt(BitBoard.square(row, col));
+                if (piece == BitBoard.EMPTY) {
+                    out.nullValue();
+                } else {
+                    out.beginObject();
+                    out.name("pieceType").value(BitBoard.pieceType(BitBoard.typeOf(piece)).name());
+                    out.name("teamColor").value(BitBoard.teamColor(BitBoard.colorOf(piece)).name());
+                    out.endObject();
+                }
+            }
+            out.endArray();
+        }
+        out.endArray();
+        out.name("castlingRights").value(bitBoard.getCastlingRights());
+        out.endObject();
+    }
+
+    @Override
+    public ChessBoard read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ChessBoard board = new ChessBoard();
+        BitBoard bitBoard = board.getBitBoard();
+        int castlingRights = -1;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "squares" -> readSquares(in, bitBoard);
+                case "castlingRights" -> castlingRights = in.nextInt();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        bitBoard.setCastlingRights(castlingRights >= 0 ? castlingRights : castlingRightsFromPlacement(bitBoard));
+        return board;
+    }
+
+    private static void readSquares(JsonReader in, BitBoard bitBoard) throws IOException {
+        in.beginArray();
+        for (int row = 1; in.hasNext(); row++) {
+            in.beginArray();
+            for (int col = 1; in.hasNext(); col++) {
+                int piece = readPiece(in);
+                if (row > 8 || col > 8) {
+                    throw new JsonSyntaxException("Board is larger than 8 by 8 at " + in.getPath());
+                }
+                if (piece != BitBoard.EMPTY) {
+                    bitBoard.setPiece(BitBoard.square(row, col), piece);
+                }
+            }
+            in.endArray();
+        }
+        in.endArray();
+    }
+
+    private static int readPiece(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return BitBoard.EMPTY;
+        }
+        ChessPiece.PieceType type = null;
+        ChessGame.TeamColor color = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "pieceType" -> type = ChessPiece.PieceType.valueOf(in.nextString());
+                case "teamColor" -> color = ChessGame.TeamColor.valueOf(in.nextString());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (type == null || color == null) {
+            throw new JsonSyntaxException("Piece is missing its type or color at " + in.getPath());
+        }
+        return BitBoard.pieceIndex(BitBoard.colorIndex(color), type.ordinal());
+    }
+
+    private static int castlingRightsFromPlacement(BitBoard bitBoard) {
+        int castlingRights = 0;
+        for (int i = 0; i < CASTLING_FLAGS.length; i++) {
+            int color = i < 2 ? BitBoard.WHITE : BitBoard.BLACK;
+            if (bitBoard.pieceAt(CASTLING_SQUARES[i][0]) == BitBoard.pieceIndex(color, BitBoard.KING)
+                && bitBoard.pieceAt(CASTLING_SQUARES[i][1]) == BitBoard.pieceIndex(color, BitBoard.ROOK)) {
+                castlingRights |= CASTLING_FLAGS[i];
+            }
+        }
+        return castlingRights;
+    }
+}
@@ -1,6 +1,7 @@
 package chess;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
 
@@ -11,10 +12,15 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessGame {
+    private static final ThreadLocal<int[]> MOVE_BUFFER = ThreadLocal.withInitial(() -> new int[MoveGenerator.MAX_MOVES]);
+
     private TeamColor teamTurn;
     private ChessBoard chessBoard;
     private TeamColor winner;
     private boolean isDraw;
+    private int halfmoveClock;
+    private int fullmoveNumber = 1;
+    private transient GameStatus gameStatus;
 
     public ChessGame() {
         this.chessBoard = new ChessBoard();
@@ -24,6 +30,21 @@ public class ChessGame {
         this.isDraw = false;
     }
 
+    /**
+     * Creates a game already in progress, without setting up the starting board first
+     *
+     * @param board          the board to play on
+     * @param teamTurn       the team whose turn it is
+     * @param halfmoveClock  the number of moves since the last capture or pawn move
+     * @param fullmoveNumber the number of the current full move
+     */
+    ChessGame(ChessBoard board, TeamColor teamTurn, int halfmoveClock, int fullmoveNumber) {
+        this.chessBoard = board;
+        this.teamTurn = teamTurn;
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
     /**
      * @return Which team's turn it is
      */
@@ -57,28 +78,74 @@ public class ChessGame {
      */
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
         ChessPiece piece = chessBoard.getPiece(startPosition);
-        Collection<ChessMove> moves;
 
         if (piece == null) {
             return null;
-        } else {
-            moves = piece.pieceMoves(chessBoard, startPosition);
         }
 
-        ChessBoard dreamBoard;
+        // Legal moves are cached for the whole position and only converted for this piece
+        int square = BitBoard.square(startPosition);
         Collection<ChessMove> approvedMoves = new ArrayList<>();
 
-        for (ChessMove move : moves) { // Only allows legitimate moves
-            dreamBoard = new ChessBoard(chessBoard);
-            dreamBoard.movePiece(move);
-            if (!isInCheckHelper(piece.getTeamColor(), dreamBoard)) {
-                approvedMoves.add(move);
+        for (int move : legalMoves(piece.getTeamColor())) {
+            if (Move.from(move) == square) {
+                approvedMoves.add(Move.toChessMove(move));
             }
         }
 
         return approvedMoves;
     }
 
+    /**
+     * Gets every valid move for the team whose turn it is
+     *
+     * @return Set of valid moves for every piece of the team to move
+     */
+    public Collection<ChessMove> allValidMoves() {
+        int[] moves = legalMoves(teamTurn);
+        Collection<ChessMove> approvedMoves = new ArrayList<>(moves.length);
+
+        for (int move : moves) {
+            approvedMoves.add(Move.toChessMove(move));
+        }
+
+        return approvedMoves;
+    }
+
+    /**
+     * Gets every legal move a team has on the current board, from the shared legal
+     * move cache when this position has been seen before
+     */
+    private int[] legalMoves(TeamColor teamColor) {
+        long positionKey = chessBoard.getBitBoard().getZobristKey();
+        if (teamColor == TeamColor.BLACK) {
+            positionKey ^= Zobrist.SIDE_TO_MOVE;
+        }
+
+        LegalMoveCache cache = LegalMoveCache.getShared();
+        int[] moves = cache.get(positionKey);
+        if (moves == null) {
+            moves = generateLegalMoves(BitBoard.colorIndex(teamColor));
+            cache.put(positionKey, moves);
+        }
+        return moves;
+    }
+
+    private int[] generateLegalMoves(int color) {
+        int[] moves = MOVE_BUFFER.get();
+        int count = MoveGenerator.generateLegalMoves(chessBoard.getBitBoard(), color, moves, 0);
+        return Arrays.copyOf(moves, count);
+    }
+
+    private static boolean containsMove(int[] moves, int move) {
+        for (int legalMove : moves) {
+            if (Move.stripFlags(legalMove) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Makes a move in a chess game
      *
@@ -86,21 +153,55 @@ public class ChessGame {
      * @throws InvalidMoveException if move is invalid
      */
     public void makeMove(ChessMove move) throws InvalidMoveException {
-        ChessPosition start = move.getStartPosition();
-        ChessPosition end = move.getEndPosition();
-        ChessPiece piece = chessBoard.getPiece(start);
+        ChessPiece piece = chessBoard.getPiece(move.getStartPosition());
 
         if (piece == null) {
             throw new InvalidMoveException("Error: Piece does not exist");
         }
 
-        piece.hasPawnMoved(start);
+        // Legal moves come from the cache; only a rejected move needs the checks below to explain why
+        if (piece.getTeamColor() != teamTurn || !containsMove(legalMoves(teamTurn), Move.fromChessMove(move))) {
+            rejectMove(move, piece);
+        }
+
+        // Captures and pawn moves reset the fifty-move count; the move number goes up after black moves
+        boolean resetsClock = piece.getPieceType() == ChessPiece.PieceType.PAWN
+                              || chessBoard.getPiece(move.getEndPosition()) != null;
+        halfmoveClock = resetsClock ? 0 : halfmoveClock + 1;
+        if (teamTurn == TeamColor.BLACK) {
+            fullmoveNumber++;
+        }
+
+        chessBoard.movePiece(move);
+
+        // Next player's turn
+        if (teamTurn == TeamColor.BLACK) {
+            setTeamTurn(TeamColor.WHITE);
+        } else {
+            setTeamTurn(TeamColor.BLACK);
+        }
 
-        ChessBoard dreamBoard = new ChessBoard(chessBoard);
+        // Only the team now to move can have been mated or stalemated by this move
+        GameStatus status = getGameStatus();
+        if (status.checkmate()) {
+            winner = piece.getTeamColor();
+        } else if (status.stalemate()) {
+            isDraw = true;
+        }
+    }
 
-        if (!piece.pieceMoves(dreamBoard, start).contains(move)) {
+    /**
+     * Works out why a move is not legal
+     *
+     * @throws InvalidMoveException always, describing what is wrong with the move
+     */
+    private void rejectMove(ChessMove move, ChessPiece piece) throws InvalidMoveException {
+        ChessPosition start = move.getStartPosition();
+        ChessPosition end = move.getEndPosition();
+
+        if (!piece.pieceMoves(chessBoard, start).contains(move)) {
             throw new InvalidMoveException("Error: Invalid move");
-        } else if (piece.getPieceType() == ChessPiece.PieceType.PAWN & Math.abs(end.getRow() - start.getRow()) == 2 & piece.hasMoved) {
+        } else if (piece.getPieceType() == ChessPiece.PieceType.PAWN & Math.abs(end.getRow() - start.getRow()) == 2 & piece.hasPawnMoved(start)) {
             throw new InvalidMoveException("Error: Pawn double move");
         } else if (teamTurn != piece.getTeamColor()) {
             throw new InvalidMoveException("Error: Wrong player's turn");
@@ -110,36 +211,49 @@ public class ChessGame {
             }
         }
 
-        dreamBoard.movePiece(move);
-
         if (chessBoard.kingExists()) {
-            if (isInCheckHelper(piece.getTeamColor(), dreamBoard)) {
-//                System.out.println("Is in check: \n" + dreamBoard);
+            int color = BitBoard.colorIndex(piece.getTeamColor());
+            // Tested on a copy so readers of this game never see the move half made
+            if (!isLegalMove(new BitBoard(chessBoard.getBitBoard()), Move.fromChessMove(move), color)) {
                 throw new InvalidMoveException("Error: Cannot put own king in check");
             }
         }
 
-        // Marks a piece as moved if this is its first move
-        if (!piece.hasMoved) {
-            piece.hasMoved = true;
+        throw new InvalidMoveException("Error: Invalid move");
+    }
+
+    /**
+     * Gets the status of the team whose turn it is. The status is computed once per
+     * position and reused until the position changes.
+     *
+     * @return check, checkmate, stalemate and legal move count for the team to move
+     */
+    public GameStatus getGameStatus() {
+        long positionKey = getPositionKey();
+        GameStatus status = gameStatus;
+        if (status == null || status.positionKey() != positionKey) {
+            status = evaluateStatus(positionKey);
+            gameStatus = status;
         }
+        return status;
+    }
 
-        chessBoard.movePiece(move);
+    /**
+     * Builds the full legal move list rather than stopping at the first legal
+     * move. The status reports the legal move count, and the list goes into
+     * the legal move cache, where validMoves and allValidMoves for the same
+     * position find it. Stopping early would save little on a cache miss and
+     * leave those calls to generate the moves again.
+     */
+    private GameStatus evaluateStatus(long positionKey) {
+        BitBoard board = chessBoard.getBitBoard();
+        int color = BitBoard.colorIndex(teamTurn);
+        boolean inCheck = board.isInCheck(color);
 
-        // Next player's turn
-        if (teamTurn == TeamColor.BLACK) {
-            setTeamTurn(TeamColor.WHITE);
-        } else {
-            setTeamTurn(TeamColor.BLACK);
-        }
+        int legalMoves = legalMoves(teamTurn).length;
 
-        if (isInCheckmate(TeamColor.WHITE)) {
-            winner = TeamColor.BLACK;
-        } else if (isInCheckmate(TeamColor.BLACK)) {
-            winner = TeamColor.WHITE;
-        } else if (isInStalemate(TeamColor.WHITE) || isInStalemate(TeamColor.BLACK)) {
-            isDraw = true;
-        }
+        return new GameStatus(teamTurn, positionKey, inCheck, inCheck && legalMoves == 0,
+                              !inCheck && legalMoves == 0, legalMoves);
     }
 
     /**
@@ -149,60 +263,19 @@ public class ChessGame {
      * @return True if the specified team is in check
      */
     public boolean isInCheck(TeamColor teamColor) {
-        return isInCheckHelper(teamColor, chessBoard);
-    }
-
-    private boolean isInCheckHelper(TeamColor teamColor, ChessBoard board) {
-        ChessPosition kingPosition = getKingPosition(teamColor, board);
-
-        Collection<Collection<ChessMove>> enemyMoves = new ArrayList<>();
-        ChessPosition p;
-        ChessPiece piece;
-
-        for (int i = 1; i < 9; i++) {
-            for (int j = 1; j < 9; j++) {
-                p = new ChessPosition(i, j);
-                if (board.getPiece(p) != null) {
-                    piece = board.getPiece(p);
-                    if (piece.getTeamColor() != teamColor) {
-                        enemyMoves.add(piece.pieceMoves(board, p));
-                    }
-                }
-            }
-        }
-
-        for (Collection<ChessMove> moves : enemyMoves) {
-            for (ChessMove move : moves) {
-                if (move.getEndPosition().equals(kingPosition)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return chessBoard.getBitBoard().isInCheck(BitBoard.colorIndex(teamColor));
     }
 
-    private ChessPosition getKingPosition(TeamColor color) {
-        return getKingPosition(color, chessBoard);
-    }
-
-    private ChessPosition getKingPosition(TeamColor color, ChessBoard board) {
-        ChessPosition p;
-        ChessPiece piece;
-        for (int i = 1; i < 9; i++) {
-            for (int j = 1; j < 9; j++) {
-                p = new ChessPosition(i, j);
-                if (board.getPiece(p) != null) {
-                    piece = board.getPiece(p);
-                    if (piece.getPieceType() == ChessPiece.PieceType.KING & piece.getTeamColor() == color) {
-                        return p;
-                    }
-                }
-            }
-        }
+    /**
+     * Tests a pseudo-legal move by making it on the board, looking for check and
+     * then taking it back, so the board is left exactly as it was
+     */
+    private boolean isLegalMove(BitBoard board, int move, int color) {
+        board.makeMove(move);
+        boolean inCheck = board.isInCheck(color);
+        board.unmakeMove();
 
-        return null;
-//        throw new RuntimeException("ERROR: King not found");
+        return !inCheck;
     }
 
     /**
@@ -212,37 +285,10 @@ public class ChessGame {
      * @return True if the specified team is in checkmate
      */
     public boolean isInCheckmate(TeamColor teamColor) {
-
-        for (int i = 1; i < 9; i++) {
-            for (int j = 1; j < 9; j++) {
-                ChessPosition p = new ChessPosition(i,j);
-                ChessPiece piece = chessBoard.getPiece(p);
-                if (piece != null && piece.getTeamColor() == teamColor) {
-                    Collection<ChessMove> pieceMoves = piece.pieceMoves(chessBoard, p);
-                    if (isInCheckmateHelper(teamColor, pieceMoves)) {
-                        return false;
-                    }
-                }
-            }
+        if (teamColor == teamTurn) {
+            return getGameStatus().checkmate();
         }
-
-        if (isInCheck(teamColor)) {
-            return true;
-        }
-
-        return false;
-    }
-
-    private boolean isInCheckmateHelper(TeamColor teamColor, Collection<ChessMove> pieceMoves) {
-        for (ChessMove move : pieceMoves) {
-            ChessBoard dreamBoard = new ChessBoard(chessBoard);
-            dreamBoard.movePiece(move);
-
-            if (!isInCheckHelper(teamColor, dreamBoard)) {
-                return true;
-            }
-        }
-        return false;
+        return isInCheck(teamColor) && legalMoves(teamColor).length == 0;
     }
 
     /**
@@ -253,35 +299,10 @@ public class ChessGame {
      * @return True if the specified team is in stalemate, otherwise false
      */
     public boolean isInStalemate(TeamColor teamColor) {
-        if (isInCheckmate(teamColor)) {
-            return false;
+        if (teamColor == teamTurn) {
+            return getGameStatus().stalemate();
         }
-
-        for (int i = 1; i < 9; i++) {
-            for (int j = 1; j < 9; j++) {
-                ChessPosition p = new ChessPosition(i,j);
-                ChessPiece piece = chessBoard.getPiece(p);
-                if (piece != null && piece.getTeamColor() == teamColor) {
-                    Collection<ChessMove> pieceMoves = piece.pieceMoves(chessBoard, p);
-                    if (isInStalemateHelper(teamColor, pieceMoves)) {
-                        return false;
-                    }
-                }
-            }
-        }
-
-        return true;
-}
-
-    private boolean isInStalemateHelper(TeamColor teamColor, Collection<ChessMove> pieceMoves) {
-        for (ChessMove move : pieceMoves) {
-            ChessBoard testBoard = new ChessBoard(chessBoard);
-
-            testBoard.movePiece(move);
-
-            return !isInCheckHelper(teamColor, testBoard);
-        }
-        return false;
+        return !isInCheck(teamColor) && legalMoves(teamColor).length == 0;
     }
 
     /**
@@ -302,6 +323,50 @@ public class ChessGame {
         return chessBoard;
     }
 
+    /**
+     * Gets a 64-bit Zobrist key for the current position, covering the pieces on
+     * the board and whose turn it is. The board keeps its part of the key up to
+     * date as pieces move, so this is O(1).
+     *
+     * @return the position key
+     */
+    public long getPositionKey() {
+        long key = chessBoard.getBitBoard().getZobristKey();
+        return teamTurn == TeamColor.BLACK ? key ^ Zobrist.SIDE_TO_MOVE : key;
+    }
+
+    /**
+     * @return the number of moves since the last capture or pawn move
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * @return the number of the current full move, starting at 1 and going up after black moves
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * @return this game's position as a FEN record
+     */
+    public String toFen() {
+        return Fen.toFen(this);
+    }
+
+    /**
+     * Builds a game from a FEN record
+     *
+     * @param fen the FEN record
+     * @return a new game in that position
+     * @throws IllegalArgumentException if the record cannot be read
+     */
+    public static ChessGame fromFen(String fen) {
+        return Fen.toGame(fen);
+    }
+
     public TeamColor getWinner() {
         return winner;
     }
@@ -314,6 +379,10 @@ public class ChessGame {
         this.winner = winner;
     }
 
+    void setDraw(boolean isDraw) {
+        this.isDraw = isDraw;
+    }
+
     @Override
     public String toString() {
         return "ChessGame{" +
@@ -331,12 +400,12 @@ public class ChessGame {
             return false;
         }
         ChessGame chessGame = (ChessGame) o;
-        return teamTurn == chessGame.teamTurn && Objects.equals(chessBoard, chessGame.chessBoard);
+        return teamTurn == chessGame.teamTurn && getPositionKey() == chessGame.getPositionKey()
+               && Objects.equals(chessBoard, chessGame.chessBoard);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(teamTurn, chessBoard);
+        return Long.hashCode(getPositionKey());
     }
 }
-
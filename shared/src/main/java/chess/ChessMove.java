@@ -10,9 +10,30 @@ import java.util.Objects;
  */
 public class ChessMove {
 
-    private ChessPosition startPosition;
-    private ChessPosition endPosition;
-    private ChessPiece.PieceType promotionType;
+    private static final ChessPiece.PieceType[] PROMOTION_TYPES = {
+        ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.ROOK,
+        ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT
+    };
+
+    // One shared instance per start, end and promotion, indexed the same way as a packed Move
+    private static final ChessMove[] MOVES = new ChessMove[64 * 64 * (ChessPiece.PieceType.values().length + 1)];
+
+    static {
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                ChessPosition start = ChessPosition.of(from);
+                ChessPosition end = ChessPosition.of(to);
+                MOVES[Move.encode(from, to)] = new ChessMove(start, end, null);
+                for (ChessPiece.PieceType promotion : PROMOTION_TYPES) {
+                    MOVES[Move.encode(from, to, promotion.ordinal(), 0)] = new ChessMove(start, end, promotion);
+                }
+            }
+        }
+    }
+
+    private final ChessPosition startPosition;
+    private final ChessPosition endPosition;
+    private final ChessPiece.PieceType promotionType;
 
     public ChessMove(ChessPosition startPosition, ChessPosition endPosition, ChessPiece.PieceType promotionPiece) {
         this.startPosition = startPosition;
@@ -20,6 +41,38 @@ public class ChessMove {
         this.promotionType = promotionPiece;
     }
 
+    /**
+     * Gets the shared instance for a move instead of allocating a new one. Moves
+     * off the board or promoting to a king or pawn are still created on demand.
+     *
+     * @param startPosition  the square the piece moves from
+     * @param endPosition    the square the piece moves to
+     * @param promotionPiece type of piece a pawn promotes to, or null if no promotion
+     * @return the move
+     */
+    public static ChessMove of(ChessPosition startPosition, ChessPosition endPosition,
+                               ChessPiece.PieceType promotionPiece) {
+        if (!onBoard(startPosition) || !onBoard(endPosition)) {
+            return new ChessMove(startPosition, endPosition, promotionPiece);
+        }
+        ChessMove move = MOVES[Move.fromChessMove(startPosition, endPosition, promotionPiece)];
+        return move != null ? move : new ChessMove(startPosition, endPosition, promotionPiece);
+    }
+
+    /**
+     * @param move a packed Move; its flags are ignored
+     * @return the shared instance for that move
+     */
+    static ChessMove of(int move) {
+        return MOVES[Move.stripFlags(move)];
+    }
+
+    private static boolean onBoard(ChessPosition position) {
+        int row = position.getRow();
+        int col = position.getColumn();
+        return row >= 1 && row <= 8 && col >= 1 && col <= 8;
+    }
+
     /**
      * @return ChessPosition of starting location
      */
@@ -66,6 +119,7 @@ public class ChessMove {
 
     @Override
     public int hashCode() {
-        return Objects.hash(startPosition, endPosition, promotionType);
+        int promotion = promotionType == null ? 0 : promotionType.ordinal() + 1;
+        return (Objects.hashCode(startPosition) * 31 + Objects.hashCode(endPosition)) * 8 + promotion;
     }
 }
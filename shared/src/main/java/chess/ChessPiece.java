@@ -1,6 +1,5 @@
 package chess;
 
-import javax.swing.text.Position;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
@@ -8,19 +7,54 @@ import java.util.Objects;
 /**
  * Represents a single chess piece
  * <p>
+ * Pieces are immutable, so the twelve shared instances below can stand in for
+ * every piece on every board.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
 public class ChessPiece implements Cloneable {
 
-    private PieceType pieceType;
-    private ChessGame.TeamColor teamColor;
-    protected boolean hasMoved;
+    public static final ChessPiece WHITE_KING = new ChessPiece(ChessGame.TeamColor.WHITE, PieceType.KING);
+    public static final ChessPiece WHITE_QUEEN = new ChessPiece(ChessGame.TeamColor.WHITE, PieceType.QUEEN);
+    public static final ChessPiece WHITE_BISHOP = new ChessPiece(ChessGame.TeamColor.WHITE, PieceType.BISHOP);
+    public static final ChessPiece WHITE_KNIGHT = new ChessPiece(ChessGame.TeamColor.WHITE, PieceType.KNIGHT);
+    public static final ChessPiece WHITE_ROOK = new ChessPiece(ChessGame.TeamColor.WHITE, PieceType.ROOK);
+    public static final ChessPiece WHITE_PAWN = new ChessPiece(ChessGame.TeamColor.WHITE, PieceType.PAWN);
+    public static final ChessPiece BLACK_KING = new ChessPiece(ChessGame.TeamColor.BLACK, PieceType.KING);
+    public static final ChessPiece BLACK_QUEEN = new ChessPiece(ChessGame.TeamColor.BLACK, PieceType.QUEEN);
+    public static final ChessPiece BLACK_BISHOP = new ChessPiece(ChessGame.TeamColor.BLACK, PieceType.BISHOP);
+    public static final ChessPiece BLACK_KNIGHT = new ChessPiece(ChessGame.TeamColor.BLACK, PieceType.KNIGHT);
+    public static final ChessPiece BLACK_ROOK = new ChessPiece(ChessGame.TeamColor.BLACK, PieceType.ROOK);
+    public static final ChessPiece BLACK_PAWN = new ChessPiece(ChessGame.TeamColor.BLACK, PieceType.PAWN);
+
+    // Indexed by BitBoard piece index: color * 6 + type
+    private static final ChessPiece[] PIECES = {
+            WHITE_KING, WHITE_QUEEN, WHITE_BISHOP, WHITE_KNIGHT, WHITE_ROOK, WHITE_PAWN,
+            BLACK_KING, BLACK_QUEEN, BLACK_BISHOP, BLACK_KNIGHT, BLACK_ROOK, BLACK_PAWN
+    };
+
+    private final PieceType pieceType;
+    private final ChessGame.TeamColor teamColor;
 
     public ChessPiece(ChessGame.TeamColor pieceColor, ChessPiece.PieceType type) {
         this.pieceType = type;
         this.teamColor = pieceColor;
-        this.hasMoved = false;
+    }
+
+    /**
+     * @return the shared instance for a piece of this color and type
+     */
+    public static ChessPiece of(ChessGame.TeamColor pieceColor, ChessPiece.PieceType type) {
+        return PIECES[BitBoard.pieceIndex(BitBoard.colorIndex(pieceColor), type.ordinal())];
+    }
+
+    /**
+     * @param piece a BitBoard piece index, or BitBoard.EMPTY
+     * @return the shared instance for that piece, or null for an empty square
+     */
+    public static ChessPiece of(int piece) {
+        return piece == BitBoard.EMPTY ? null : PIECES[piece];
     }
 
     /**
@@ -70,39 +104,27 @@ public class ChessPiece implements Cloneable {
         } else if (pieceType == PieceType.ROOK) {
             moves =  new RookMovesCalculator(board, myPosition).calculateMoves();
         } else if (pieceType == PieceType.QUEEN) {
-            Collection<ChessMove> rookMoves = new RookMovesCalculator(board, myPosition).calculateMoves();
-            Collection<ChessMove> bishopMoves = new BishopMovesCalculator(board, myPosition).calculateMoves();
-
-            for (ChessMove move : rookMoves) {
-                moves.add(move);
-            } for (ChessMove move : bishopMoves) {
-                moves.add(move);
-            }
+            moves = new QueenMovesCalculator(board, myPosition).calculateMoves();
         }
 
         return moves;
     }
 
-    public void hasPawnMoved(ChessPosition chessPosition) {
-        // Mark whether the pawn is in its start position
-        if (teamColor == ChessGame.TeamColor.WHITE && chessPosition.getRow() == 2
-                || teamColor == ChessGame.TeamColor.BLACK && chessPosition.getRow() == 7) {
-            this.hasMoved = false;
-        } else {
-            this.hasMoved = true;
-        }
+    /**
+     * Whether a pawn has moved is read off the board: it has not if it is still
+     * on its start row. Nothing about the piece itself changes as it moves.
+     *
+     * @return True if a pawn at this position is off its start row
+     */
+    public boolean hasPawnMoved(ChessPosition chessPosition) {
+        return !(teamColor == ChessGame.TeamColor.WHITE && chessPosition.getRow() == 2
+                 || teamColor == ChessGame.TeamColor.BLACK && chessPosition.getRow() == 7);
     }
 
     @Override
     public ChessPiece clone() {
         try {
-            ChessPiece cloned = (ChessPiece) super.clone();
-
-            cloned.pieceType = this.pieceType;
-            cloned.teamColor = this.teamColor;
-            cloned.hasMoved = this.hasMoved;
-
-            return cloned;
+            return (ChessPiece) super.clone();
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException("CHESSPIECE: Clone not supported", e);
         }
@@ -111,7 +133,6 @@ public class ChessPiece implements Cloneable {
     public ChessPiece(ChessPiece otherPiece) {
         this.pieceType = otherPiece.pieceType;
         this.teamColor = otherPiece.teamColor;
-        this.hasMoved = otherPiece.hasMoved;
     }
 
     @Override
@@ -133,6 +154,6 @@ public class ChessPiece implements Cloneable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(pieceType, teamColor, hasMoved);
+        return Objects.hash(pieceType, teamColor);
     }
 }
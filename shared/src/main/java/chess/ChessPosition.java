@@ -1,7 +1,5 @@
 package chess;
 
-import java.util.Objects;
-
 /**
  * Represents a single square position on a chess board
  * <p>
@@ -10,6 +8,15 @@ import java.util.Objects;
  */
 public class ChessPosition implements Cloneable {
 
+    // One shared instance per square, indexed like BitBoard squares
+    private static final ChessPosition[] POSITIONS = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < POSITIONS.length; square++) {
+            POSITIONS[square] = new ChessPosition(BitBoard.rowOf(square), BitBoard.colOf(square));
+        }
+    }
+
     private final int row;
     private final int col;
 
@@ -18,6 +25,29 @@ public class ChessPosition implements Cloneable {
         this.col = col;
     }
 
+    /**
+     * Gets the shared instance for a position instead of allocating a new one.
+     * Positions off the board are still created on demand.
+     *
+     * @param row the row, 1 to 8 on the board
+     * @param col the column, 1 to 8 on the board
+     * @return the position
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            return new ChessPosition(row, col);
+        }
+        return POSITIONS[(row - 1) * 8 + (col - 1)];
+    }
+
+    /**
+     * @param square a BitBoard square index, 0 to 63
+     * @return the shared instance for that square
+     */
+    public static ChessPosition of(int square) {
+        return POSITIONS[square];
+    }
+
     /**
      * @return which row this position is in
      * 1 codes for the bottom row
@@ -63,6 +93,6 @@ public class ChessPosition implements Cloneable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return 31 * row + col;
     }
 }
@@ -0,0 +1,252 @@
+package chess;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation, for example the
+ * starting position:
+ * <pre>rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1</pre>
+ * Writing makes one pass into a single StringBuilder. Reading walks the string
+ * by index and places pieces straight onto the board without splitting it.
+ * <p>
+ * This rule set has no en passant, so the en passant field is always written
+ * as "-" and ignored when read.
+ */
+public final class Fen {
+
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    // Indexed by BitBoard piece index: color * 6 + type
+    static final char[] PIECE_CHARS = {'K', 'Q', 'B', 'N', 'R', 'P', 'k', 'q', 'b', 'n', 'r', 'p'};
+
+    private static final char[] CASTLING_CHARS = {'K', 'Q', 'k', 'q'};
+    private static final int[] CASTLING_FLAGS = {
+            BitBoard.WHITE_KINGSIDE, BitBoard.WHITE_QUEENSIDE, BitBoard.BLACK_KINGSIDE, BitBoard.BLACK_QUEENSIDE
+    };
+
+    private Fen() {
+    }
+
+    /**
+     * @return the full FEN record of a game's position
+     */
+    public static String toFen(ChessGame game) {
+        StringBuilder fen = new StringBuilder(90);
+        BitBoard board = game.getBoard().getBitBoard();
+
+        appendPlacement(fen, board);
+        fen.append(game.getTeamTurn() == ChessGame.TeamColor.WHITE ? " w " : " b ");
+        appendCastling(fen, board.getCastlingRights());
+        fen.append(" - ").append(game.getHalfmoveClock()).append(' ').append(game.getFullmoveNumber());
+
+        return fen.toString();
+    }
+
+    /**
+     * @return just the piece placement field for a board
+     */
+    public static String toFen(ChessBoard board) {
+        StringBuilder fen = new StringBuilder(72);
+        appendPlacement(fen, board.getBitBoard());
+        return fen.toString();
+    }
+
+    /**
+     * Writes the piece placement field, from the eighth rank down to the first
+     */
+    public static void appendPlacement(StringBuilder fen, BitBoard board) {
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int col = 1; col <= 8; col++) {
+                int piece = board.pieceAt(BitBoard.square(row, col));
+                if (piece == BitBoard.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                fen.append(PIECE_CHARS[piece]);
+            }
+            if (empty > 0) {
+                fen.append((char) ('0' + empty));
+            }
+            if (row > 1) {
+                fen.append('/');
+            }
+        }
+    }
+
+    private static void appendCastling(StringBuilder fen, int castlingRights) {
+        if (castlingRights == 0) {
+            fen.append('-');
+            return;
+        }
+        for (int i = 0; i < CASTLING_FLAGS.length; i++) {
+            if ((castlingRights & CASTLING_FLAGS[i]) != 0) {
+                fen.append(CASTLING_CHARS[i]);
+            }
+        }
+    }
+
+    /**
+     * Builds a game from a FEN record. The side to move is required; the
+     * castling, en passant and clock fields may be left off and default to no
+     * castling rights and the first move.
+     *
+     * @param fen the FEN record
+     * @return a new game in that position
+     * @throws IllegalArgumentException if the record cannot be read
+     */
+    public static ChessGame toGame(String fen) {
+        ChessBoard chessBoard = new ChessBoard();
+        BitBoard board = chessBoard.getBitBoard();
+        int index = parsePlacement(fen, board);
+
+        index = expectSpace(fen, index);
+        if (index >= fen.length()) {
+            throw invalid(fen, "missing side to move");
+        }
+        ChessGame.TeamColor turn = switch (fen.charAt(index)) {
+            case 'w' -> ChessGame.TeamColor.WHITE;
+            case 'b' -> ChessGame.TeamColor.BLACK;
+            default -> throw invalid(fen, "side to move must be w or b");
+        };
+        index++;
+
+        int castlingRights = 0;
+        int halfmoveClock = 0;
+        int fullmoveNumber = 1;
+        if (index < fen.length()) {
+            index = expectSpace(fen, index);
+            while (index < fen.length() && fen.charAt(index) != ' ') {
+                char c = fen.charAt(index++);
+                if (c != '-') {
+                    castlingRights |= castlingFlag(fen, c);
+                }
+            }
+        }
+        if (index < fen.length()) { // En passant target, which this rule set never uses
+            index = expectSpace(fen, index);
+            while (index < fen.length() && fen.charAt(index) != ' ') {
+                index++;
+            }
+        }
+        if (index < fen.length()) {
+            index = expectSpace(fen, index);
+            halfmoveClock = parseNumber(fen, index);
+            while (index < fen.length() && fen.charAt(index) != ' ') {
+                index++;
+            }
+        }
+        if (index < fen.length()) {
+            index = expectSpace(fen, index);
+            fullmoveNumber = parseNumber(fen, index);
+        }
+
+        board.setCastlingRights(castlingRights);
+
+        return new ChessGame(chessBoard, turn, halfmoveClock, fullmoveNumber);
+    }
+
+    /**
+     * Builds a board from the piece placement field. Anything after the
+     * placement, such as the rest of a full FEN record, is ignored.
+     *
+     * @param fen the piece placement, or a full FEN record
+     * @return a new board with those pieces
+     * @throws IllegalArgumentException if the placement cannot be read
+     */
+    public static ChessBoard toBoard(String fen) {
+        ChessBoard chessBoard = new ChessBoard();
+        parsePlacement(fen, chessBoard.getBitBoard());
+        return chessBoard;
+    }
+
+    /**
+     * Places the pieces described by the placement field onto an empty board
+     *
+     * @return the index just past the placement field
+     */
+    private static int parsePlacement(String fen, BitBoard board) {
+        int row = 8;
+        int col = 1;
+        int index = 0;
+
+        while (index < fen.length()) {
+            char c = fen.charAt(index);
+            if (c == ' ') {
+                break;
+            }
+            index++;
+
+            if (c == '/') {
+                if (col != 9 || row == 1) {
+                    throw invalid(fen, "rank " + row + " does not have 8 squares");
+                }
+                row--;
+                col = 1;
+            } else if (c >= '1' && c <= '8') {
+                col += c - '0';
+                if (col > 9) {
+                    throw invalid(fen, "rank " + row + " has more than 8 squares");
+                }
+            } else {
+                if (col > 8) {
+                    throw invalid(fen, "rank " + row + " has more than 8 squares");
+                }
+                board.setPiece(BitBoard.square(row, col), pieceIndex(fen, c));
+                col++;
+            }
+        }
+
+        if (row != 1 || col != 9) {
+            throw invalid(fen, "placement must describe 8 ranks of 8 squares");
+        }
+        return index;
+    }
+
+    private static int pieceIndex(String fen, char c) {
+        for (int piece = 0; piece < PIECE_CHARS.length; piece++) {
+            if (PIECE_CHARS[piece] == c) {
+                return piece;
+            }
+        }
+        throw invalid(fen, "unknown piece '" + c + "'");
+    }
+
+    private static int castlingFlag(String fen, char c) {
+        for (int i = 0; i < CASTLING_CHARS.length; i++) {
+            if (CASTLING_CHARS[i] == c) {
+                return CASTLING_FLAGS[i];
+            }
+        }
+        throw invalid(fen, "unknown castling right '" + c + "'");
+    }
+
+    private static int parseNumber(String fen, int index) {
+        int value = 0;
+        int start = index;
+        while (index < fen.length() && fen.charAt(index) != ' ') {
+            char c = fen.charAt(index++);
+            if (c < '0' || c > '9') {
+                throw invalid(fen, "clock must be a number");
+            }
+            value = value * 10 + (c - '0');
+        }
+        if (index == start) {
+            throw invalid(fen, "clock must be a number");
+        }
+        return value;
+    }
+
+    private static int expectSpace(String fen, int index) {
+        if (index >= fen.length() || fen.charAt(index) != ' ') {
+            throw invalid(fen, "fields must be separated by single spaces");
+        }
+        return index + 1;
+    }
+
+    private static IllegalArgumentException invalid(String fen, String reason) {
+        return new IllegalArgumentException("Error: Invalid FEN \"" + fen + "\": " + reason);
+    }
+}
@@ -0,0 +1,184 @@
+package chess;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Packs a whole game into a few dozen bytes, as a compact alternative to the
+ * Gson form for storage and transfer.
+ * <p>
+ * Version 1 layout:
+ * <ul>
+ * <li>1 byte: format version</li>
+ * <li>1 byte: side to move (bit 0), castling rights (bits 1-4), winner (bits 5-6:
+ * none, white or black) and draw (bit 7)</li>
+ * <li>8 bytes: occupancy bitboard, big-endian</li>
+ * <li>one 4-bit piece index per occupied square, in square order, two per byte</li>
+ * <li>halfmove clock and fullmove number, as unsigned varints</li>
+ * </ul>
+ * The starting position takes 28 bytes.
+ */
+public final class GameCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int CASTLING_SHIFT = 1;
+    private static final int WINNER_SHIFT = 5;
+    private static final int DRAW = 1 << 7;
+
+    private GameCodec() {
+    }
+
+    /**
+     * @return the game packed into the current format version
+     */
+    public static byte[] encode(ChessGame game) {
+        BitBoard board = game.getBoard().getBitBoard();
+        long occupied = board.getOccupied();
+        int pieceCount = Long.bitCount(occupied);
+
+        byte[] bytes = new byte[10 + (pieceCount + 1) / 2 + 10];
+        int index = 0;
+        bytes[index++] = VERSION;
+
+        int flags = board.getCastlingRights() << CASTLING_SHIFT;
+        if (game.getTeamTurn() == ChessGame.TeamColor.BLACK) {
+            flags |= BLACK_TO_MOVE;
+        }
+        if (game.getWinner() != null) {
+            flags |= (BitBoard.colorIndex(game.getWinner()) + 1) << WINNER_SHIFT;
+        }
+        if (game.isDraw()) {
+            flags |= DRAW;
+        }
+        bytes[index++] = (byte) flags;
+
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[index++] = (byte) (occupied >>> shift);
+        }
+
+        // Two pieces to a byte, first piece in the high nibble
+        int nibble = 0;
+        for (long remaining = occupied; remaining != 0; remaining &= remaining - 1) {
+            int piece = board.pieceAt(Long.numberOfTrailingZeros(remaining));
+            if ((nibble & 1) == 0) {
+                bytes[index] = (byte) (piece << 4);
+            } else {
+                bytes[index++] |= (byte) piece;
+            }
+            nibble++;
+        }
+        if ((nibble & 1) != 0) {
+            index++;
+        }
+
+        index = writeVarint(bytes, index, game.getHalfmoveClock());
+        index = writeVarint(bytes, index, game.getFullmoveNumber());
+
+        return Arrays.copyOf(bytes, index);
+    }
+
+    /**
+     * Rebuilds a game packed with encode
+     *
+     * @param bytes the packed game
+     * @return a new game in the packed state
+     * @throws IllegalArgumentException if the bytes are not a packed game of a known version
+     */
+    public static ChessGame decode(byte[] bytes) {
+        if (bytes.length < 10) {
+            throw new IllegalArgumentException("Error: Encoded game is truncated");
+        }
+        if (bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Error: Unknown encoded game version " + bytes[0]);
+        }
+
+        int flags = bytes[1] & 0xFF;
+        long occupied = 0;
+        for (int i = 2; i < 10; i++) {
+            occupied = (occupied << 8) | (bytes[i] & 0xFF);
+        }
+
+        int index = 10;
+        if (bytes.length < index + (Long.bitCount(occupied) + 1) / 2) {
+            throw new IllegalArgumentException("Error: Encoded game is truncated");
+        }
+
+        ChessBoard chessBoard = new ChessBoard();
+        BitBoard board = chessBoard.getBitBoard();
+        int nibble = 0;
+        for (long remaining = occupied; remaining != 0; remaining &= remaining - 1) {
+            int value = bytes[index] & 0xFF;
+            int piece = (nibble & 1) == 0 ? value >>> 4 : value & 0xF;
+            if ((nibble & 1) != 0) {
+                index++;
+            }
+            if (piece >= 12) {
+                throw new IllegalArgumentException("Error: Encoded game has an unknown piece " + piece);
+            }
+            board.setPiece(Long.numberOfTrailingZeros(remaining), piece);
+            nibble++;
+        }
+        if ((nibble & 1) != 0) {
+            index++;
+        }
+        board.setCastlingRights((flags >>> CASTLING_SHIFT) & BitBoard.ALL_CASTLING);
+
+        long clocks = readVarint(bytes, index);
+        int halfmoveClock = (int) clocks;
+        long fullmove = readVarint(bytes, (int) (clocks >>> 32));
+
+        ChessGame.TeamColor turn = (flags & BLACK_TO_MOVE) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        ChessGame game = new ChessGame(chessBoard, turn, halfmoveClock, (int) fullmove);
+
+        int winner = (flags >>> WINNER_SHIFT) & 0x3;
+        if (winner != 0) {
+            game.setWinner(BitBoard.teamColor(winner - 1));
+        }
+        game.setDraw((flags & DRAW) != 0);
+
+        return game;
+    }
+
+    /**
+     * @return the packed game as Base64 text, for text columns and messages
+     */
+    public static String encodeToString(ChessGame game) {
+        return Base64.getEncoder().encodeToString(encode(game));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not a Base64 packed game
+     */
+    public static ChessGame decodeString(String encoded) {
+        return decode(Base64.getDecoder().decode(encoded));
+    }
+
+    private static int writeVarint(byte[] bytes, int index, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[index++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[index++] = (byte) value;
+        return index;
+    }
+
+    /**
+     * @return the value in the low 32 bits and the index just past it in the high 32 bits
+     */
+    private static long readVarint(byte[] bytes, int index) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (index >= bytes.length) {
+                throw new IllegalArgumentException("Error: Encoded game is truncated");
+            }
+            int b = bytes[index++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return ((long) index << 32) | (value & 0xFFFFFFFFL);
+            }
+        }
+        throw new IllegalArgumentException("Error: Encoded game has a malformed clock");
+    }
+}
@@ -0,0 +1,122 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The history of a game: the ordered list of moves, each packed into an int
+ * (see {@link Move}), plus a {@link GameCodec} snapshot every few plies.
+ * <p>
+ * The record only grows. Appending a move stores just that move, plus a
+ * snapshot when the ply count reaches a multiple of the snapshot interval. To
+ * rebuild the position at any ply, replay decodes the nearest snapshot at or
+ * before it and plays at most interval - 1 moves on top. Takebacks and
+ * replays are then just earlier plies.
+ */
+public class GameRecord {
+
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 16;
+
+    private final int snapshotInterval;
+    private final List<byte[]> snapshots = new ArrayList<>();
+    private int[] moves = new int[64];
+    private int plyCount;
+    private final ChessGame current;
+
+    /**
+     * Starts a record of a new game from the starting position
+     */
+    public GameRecord() {
+        this(new ChessGame(), DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * @param start            the position the record starts from, as ply 0
+     * @param snapshotInterval how many plies apart to keep snapshots
+     */
+    public GameRecord(ChessGame start, int snapshotInterval) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("Error: Snapshot interval must be at least 1");
+        }
+        this.snapshotInterval = snapshotInterval;
+        byte[] snapshot = GameCodec.encode(start);
+        snapshots.add(snapshot);
+        current = GameCodec.decode(snapshot);
+    }
+
+    /**
+     * Makes a move on the current position and records it
+     *
+     * @param move the move to make
+     * @throws InvalidMoveException if the move is not legal in the current position
+     */
+    public void append(ChessMove move) throws InvalidMoveException {
+        current.makeMove(move);
+
+        if (plyCount == moves.length) {
+            moves = Arrays.copyOf(moves, plyCount * 2);
+        }
+        moves[plyCount++] = Move.fromChessMove(move);
+
+        if (isSnapshotPly(plyCount, snapshotInterval)) {
+            snapshots.add(GameCodec.encode(current));
+        }
+    }
+
+    /**
+     * Rebuilds the game as it was after a number of plies
+     *
+     * @param ply how many moves into the record, from 0 to getPlyCount()
+     * @return a new game in that position
+     */
+    public ChessGame replay(int ply) {
+        if (ply < 0 || ply > plyCount) {
+            throw new IndexOutOfBoundsException("Error: Ply " + ply + " is not in this record of " + plyCount);
+        }
+
+        int snapshot = ply / snapshotInterval;
+        ChessGame game = GameCodec.decode(snapshots.get(snapshot));
+        for (int i = snapshot * snapshotInterval; i < ply; i++) {
+            try {
+                game.makeMove(Move.toChessMove(moves[i]));
+            } catch (InvalidMoveException e) {
+                throw new IllegalStateException("Error: Recorded move " + Move.toString(moves[i]) + " is illegal", e);
+            }
+        }
+        return game;
+    }
+
+    /**
+     * @return the game after every recorded move
+     */
+    public ChessGame getGame() {
+        return current;
+    }
+
+    /**
+     * @param ply which move, counting from 0
+     * @return the move made at that ply
+     */
+    public ChessMove getMove(int ply) {
+        if (ply < 0 || ply >= plyCount) {
+            throw new IndexOutOfBoundsException("Error: Ply " + ply + " is not in this record of " + plyCount);
+        }
+        return Move.toChessMove(moves[ply]);
+    }
+
+    public int getPlyCount() {
+        return plyCount;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * @return True if a record with this interval keeps a snapshot after the given ply
+     */
+    public static boolean isSnapshotPly(int ply, int snapshotInterval) {
+        return ply % snapshotInterval == 0;
+    }
+}
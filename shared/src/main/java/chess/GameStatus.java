@@ -0,0 +1,16 @@
+package chess;
+
+/**
+ * The status of a position for the team whose turn it is, worked out in a single
+ * pass over that team's moves
+ *
+ * @param teamColor      the team to move
+ * @param positionKey    the position key this status was computed for
+ * @param inCheck        whether that team's king is in check
+ * @param checkmate      whether that team is in check with no legal moves
+ * @param stalemate      whether that team is not in check but has no legal moves
+ * @param legalMoveCount how many legal moves that team has
+ */
+public record GameStatus(ChessGame.TeamColor teamColor, long positionKey, boolean inCheck, boolean checkmate,
+                         boolean stalemate, int legalMoveCount) {
+}
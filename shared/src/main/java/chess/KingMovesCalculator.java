@@ -13,23 +13,9 @@ public class KingMovesCalculator extends PieceMovesCalculator {
     public Collection<ChessMove> calculateMoves() {
         Collection<ChessMove> moves = new ArrayList<>();
 
-        ChessPosition possiblePosition;
-
-        int[] possibleDistance = {1, 0, -1};
-
-        int row = chessPosition.getRow();
-        int col = chessPosition.getColumn();
-
-        for (int i : possibleDistance) {
-            for (int j : possibleDistance) {
-                possiblePosition = new ChessPosition(row + i, col + j);
-                if (withinChessboard(possiblePosition) && (isEmpty(possiblePosition) || isEnemyPiece(possiblePosition))) {
-                    moves.add(newMove(possiblePosition));
-                }
-            }
-        }
+        long targets = AttackTables.kingAttacks(BitBoard.square(chessPosition)) & notFriendly();
+        addMoves(moves, targets);
 
         return moves;
     }
-
 }
@@ -0,0 +1,95 @@
+package chess;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of legal moves, keyed by position key (see
+ * {@link ChessGame#getPositionKey()}) so it can be shared by every game in the
+ * JVM. Each entry holds every legal move for the team to move, packed with
+ * {@link Move}. The least recently used position is evicted once the cache is
+ * full.
+ * <p>
+ * Because the key changes whenever the position does, making a move
+ * invalidates a game's entry without any explicit bookkeeping.
+ */
+public class LegalMoveCache {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final LegalMoveCache SHARED = new LegalMoveCache(DEFAULT_CAPACITY);
+
+    private final Map<Long, int[]> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public LegalMoveCache(int capacity) {
+        this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the cache shared by every ChessGame
+     */
+    public static LegalMoveCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Looks up the legal moves for a position, counting a hit or a miss
+     *
+     * @param positionKey the position's key
+     * @return the packed legal moves, which must not be modified, or null if the
+     * position is not cached
+     */
+    public int[] get(long positionKey) {
+        int[] moves;
+        synchronized (entries) {
+            moves = entries.get(positionKey);
+        }
+
+        if (moves == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return moves;
+    }
+
+    /**
+     * @param positionKey the position's key
+     * @param moves       every legal move in that position, which must not be modified afterwards
+     */
+    public void put(long positionKey, int[] moves) {
+        synchronized (entries) {
+            entries.put(positionKey, moves);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,87 @@
+package chess;
+
+/**
+ * Helpers for moves packed into a single int, so move generation can write into
+ * plain int arrays instead of allocating a {@link ChessMove} per move.
+ * <p>
+ * Layout: bits 0-5 hold the start square, bits 6-11 the end square, bits 12-14
+ * the promotion type plus one (zero for no promotion) and the bits above that
+ * hold flags.
+ */
+public final class Move {
+
+    public static final int NONE = 0;
+
+    public static final int CAPTURE = 1 << 15;
+    public static final int DOUBLE_PAWN_PUSH = 1 << 16;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int PROMOTION_MASK = 0x7;
+
+    private Move() {
+    }
+
+    public static int encode(int from, int to) {
+        return from | (to << 6);
+    }
+
+    public static int encode(int from, int to, int promotionType, int flags) {
+        return from | (to << 6) | ((promotionType + 1) << PROMOTION_SHIFT) | flags;
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & SQUARE_MASK;
+    }
+
+    /**
+     * @return the type index a pawn promotes to, or BitBoard.EMPTY if this is not a promotion
+     */
+    public static int promotionType(int move) {
+        return ((move >>> PROMOTION_SHIFT) & PROMOTION_MASK) - 1;
+    }
+
+    public static boolean isPromotion(int move) {
+        return ((move >>> PROMOTION_SHIFT) & PROMOTION_MASK) != 0;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    /**
+     * @return the move without its flags, which is enough to tell two moves apart
+     */
+    public static int stripFlags(int move) {
+        return move & 0x7FFF;
+    }
+
+    /**
+     * @return the shared ChessMove instance for a packed move
+     */
+    public static ChessMove toChessMove(int move) {
+        return ChessMove.of(move);
+    }
+
+    /**
+     * Packs a ChessMove without flags; compare it against generated moves with stripFlags
+     */
+    public static int fromChessMove(ChessMove move) {
+        return fromChessMove(move.getStartPosition(), move.getEndPosition(), move.getPromotionPiece());
+    }
+
+    static int fromChessMove(ChessPosition start, ChessPosition end, ChessPiece.PieceType promotion) {
+        int from = BitBoard.square(start);
+        int to = BitBoard.square(end);
+
+        return promotion == null ? encode(from, to) : encode(from, to, promotion.ordinal(), 0);
+    }
+
+    public static String toString(int move) {
+        return toChessMove(move).toString();
+    }
+}
@@ -0,0 +1,276 @@
+package chess;
+
+/**
+ * Move generation over a {@link BitBoard}.
+ * <p>
+ * Moves are packed with {@link Move} and written into a caller-owned int
+ * buffer starting at a given index, and each method returns the index just past
+ * the last move it wrote. Nothing is allocated, so the same buffer can be reused
+ * for every position, with nested searches appending after the caller's moves.
+ * <p>
+ * generateMoves and generatePieceMoves are pseudo-legal: like
+ * {@link ChessPiece#pieceMoves}, their moves may still leave the king in check.
+ * generateLegalMoves works out pins and checks up front and writes only legal
+ * moves, and generateLegalCaptures does the same for just the captures and
+ * promotions, for quiescence search.
+ */
+public final class MoveGenerator {
+
+    /**
+     * More than the most moves possible in any legal position
+     */
+    public static final int MAX_MOVES = 256;
+
+    static final long FILE_A = 0x0101010101010101L;
+    static final long FILE_H = FILE_A << 7;
+    static final long NOT_FILE_A = ~FILE_A;
+    static final long NOT_FILE_H = ~FILE_H;
+    static final long NOT_FILE_AB = ~(FILE_A | (FILE_A << 1));
+    static final long NOT_FILE_GH = ~(FILE_H | (FILE_H >>> 1));
+    static final long RANK_1 = 0xFFL;
+    static final long RANK_2 = RANK_1 << 8;
+    static final long RANK_7 = RANK_1 << 48;
+    static final long RANK_8 = RANK_1 << 56;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Writes every pseudo-legal move for one side into the buffer
+     *
+     * @param board the board to generate moves on
+     * @param color the side to generate moves for
+     * @param moves buffer to write the moves into
+     * @param index where in the buffer to start writing
+     * @return the index just past the last move written
+     */
+    public static int generateMoves(BitBoard board, int color, int[] moves, int index) {
+        long own = board.getOccupancy(color);
+        while (own != 0) {
+            index = generatePieceMoves(board, Long.numberOfTrailingZeros(own), moves, index);
+            own &= own - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Writes every legal move for one side into the buffer. Pinned pieces and
+     * checks are found first, so only king moves are tested individually.
+     *
+     * @param board the board to generate moves on
+     * @param color the side to generate moves for
+     * @param moves buffer to write the moves into
+     * @param index where in the buffer to start writing
+     * @return the index just past the last move written
+     */
+    public static int generateLegalMoves(BitBoard board, int color, int[] moves, int index) {
+        return generateLegal(board, color, false, moves, index);
+    }
+
+    /**
+     * Writes every legal capture and promotion for one side into the buffer,
+     * skipping the quiet moves that generateLegalMoves would also write
+     *
+     * @param board the board to generate moves on
+     * @param color the side to generate moves for
+     * @param moves buffer to write the moves into
+     * @param index where in the buffer to start writing
+     * @return the index just past the last move written
+     */
+    public static int generateLegalCaptures(BitBoard board, int color, int[] moves, int index) {
+        return generateLegal(board, color, true, moves, index);
+    }
+
+    private static int generateLegal(BitBoard board, int color, boolean capturesOnly, int[] moves, int index) {
+        int kingSquare = board.getKingSquare(color);
+        if (kingSquare == BitBoard.NO_SQUARE) { // Without a king nothing can be in check
+            int end = generateMoves(board, color, moves, index);
+            return capturesOnly ? keepCaptures(moves, index, end) : end;
+        }
+
+        int enemyColor = color ^ 1;
+        long own = board.getOccupancy(color);
+        long enemy = board.getOccupancy(enemyColor);
+        long occupied = board.getOccupied();
+        long kingBit = 1L << kingSquare;
+        long targetMask = capturesOnly ? enemy : -1L;
+
+        // The king is lifted off the board so it cannot shelter behind itself on a slider's line
+        long kingTargets = AttackTables.kingAttacks(kingSquare) & ~own & targetMask;
+        long withoutKing = occupied & ~kingBit;
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            if (!board.isSquareAttacked(to, enemyColor, withoutKing)) {
+                int move = Move.encode(kingSquare, to);
+                moves[index++] = (enemy & (1L << to)) != 0 ? move | Move.CAPTURE : move;
+            }
+            kingTargets &= kingTargets - 1;
+        }
+
+        long checkers = board.attackersOf(kingSquare, enemyColor);
+        if (Long.bitCount(checkers) > 1) { // Only the king can answer a double check
+            return index;
+        }
+
+        // In check, other pieces must capture the checker or block between it and the king
+        long checkMask = checkers == 0 ? -1L
+                : checkers | AttackTables.between(kingSquare, Long.numberOfTrailingZeros(checkers));
+        long pinned = pinnedPieces(board, color, kingSquare);
+
+        long pieces = own & ~kingBit;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            long allowed = checkMask;
+            if ((pinned & (1L << from)) != 0) { // A pinned piece can only move along its pin
+                allowed &= AttackTables.line(kingSquare, from);
+            }
+
+            int type = BitBoard.typeOf(board.pieceAt(from));
+            if (type == BitBoard.PAWN) {
+                index = addPawnMoves(from, color, occupied, enemy, allowed, capturesOnly, moves, index);
+            } else {
+                index = addMoves(from, attacks(type, from, occupied) & ~own & allowed & targetMask, enemy,
+                                 moves, index);
+            }
+            pieces &= pieces - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Compacts a run of moves down to its captures and promotions
+     *
+     * @return the index just past the last move kept
+     */
+    private static int keepCaptures(int[] moves, int index, int end) {
+        int kept = index;
+        for (int i = index; i < end; i++) {
+            if (Move.isCapture(moves[i]) || Move.isPromotion(moves[i])) {
+                moves[kept++] = moves[i];
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * @return bitboard of the side's pieces that are the only thing between their
+     * king and an enemy slider
+     */
+    private static long pinnedPieces(BitBoard board, int color, int kingSquare) {
+        int enemyColor = color ^ 1;
+        long enemy = board.getOccupancy(enemyColor);
+        long queens = board.getPieces(enemyColor, BitBoard.QUEEN);
+
+        // Enemy sliders that would attack the king if none of our pieces were in the way
+        long snipers = (MagicBitboards.rookAttacks(kingSquare, enemy)
+                        & (board.getPieces(enemyColor, BitBoard.ROOK) | queens))
+                       | (MagicBitboards.bishopAttacks(kingSquare, enemy)
+                          & (board.getPieces(enemyColor, BitBoard.BISHOP) | queens));
+
+        long own = board.getOccupancy(color);
+        long occupied = board.getOccupied();
+        long pinned = 0;
+        while (snipers != 0) {
+            long blockers = AttackTables.between(kingSquare, Long.numberOfTrailingZeros(snipers)) & occupied;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & own;
+            }
+            snipers &= snipers - 1;
+        }
+        return pinned;
+    }
+
+    /**
+     * Writes every pseudo-legal move for the piece on one square into the buffer
+     *
+     * @param board  the board to generate moves on
+     * @param square the square of the piece to move
+     * @param moves  buffer to write the moves into
+     * @param index  where in the buffer to start writing
+     * @return the index just past the last move written, unchanged if the square is empty
+     */
+    public static int generatePieceMoves(BitBoard board, int square, int[] moves, int index) {
+        int piece = board.pieceAt(square);
+        if (piece == BitBoard.EMPTY) {
+            return index;
+        }
+
+        int color = BitBoard.colorOf(piece);
+        int type = BitBoard.typeOf(piece);
+        long occupied = board.getOccupied();
+        long enemy = board.getOccupancy(color ^ 1);
+
+        if (type == BitBoard.PAWN) {
+            return addPawnMoves(square, color, occupied, enemy, -1L, false, moves, index);
+        }
+
+        long targets = attacks(type, square, occupied) & ~board.getOccupancy(color);
+        return addMoves(square, targets, enemy, moves, index);
+    }
+
+    private static long attacks(int type, int square, long occupied) {
+        return switch (type) {
+            case BitBoard.KING -> AttackTables.kingAttacks(square);
+            case BitBoard.QUEEN -> MagicBitboards.queenAttacks(square, occupied);
+            case BitBoard.BISHOP -> MagicBitboards.bishopAttacks(square, occupied);
+            case BitBoard.KNIGHT -> AttackTables.knightAttacks(square);
+            default -> MagicBitboards.rookAttacks(square, occupied);
+        };
+    }
+
+    private static int addMoves(int from, long targets, long enemy, int[] moves, int index) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            int move = Move.encode(from, to);
+            if ((enemy & (1L << to)) != 0) {
+                move |= Move.CAPTURE;
+            }
+            moves[index++] = move;
+            targets &= targets - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Writes a pawn's moves, keeping only those that land on an allowed square,
+     * and only its captures and promotions if capturesOnly is set
+     */
+    private static int addPawnMoves(int from, int color, long occupied, long enemy, long allowed,
+                                    boolean capturesOnly, int[] moves, int index) {
+        long empty = ~occupied;
+        long singlePush = AttackTables.pawnPushes(color, from) & empty;
+        // The double push needs the square in between to be empty as well
+        long doublePush = singlePush != 0 ? AttackTables.pawnDoublePushes(color, from) & empty & allowed : 0;
+        long captures = AttackTables.pawnAttacks(color, from) & enemy & allowed;
+        singlePush &= allowed;
+        long promotionRank = AttackTables.promotionRank(color);
+        if (capturesOnly) {
+            singlePush &= promotionRank;
+            doublePush = 0;
+        }
+
+        if (singlePush != 0) {
+            index = addPawnMove(from, Long.numberOfTrailingZeros(singlePush), 0, promotionRank, moves, index);
+        }
+        if (doublePush != 0) {
+            moves[index++] = Move.encode(from, Long.numberOfTrailingZeros(doublePush)) | Move.DOUBLE_PAWN_PUSH;
+        }
+        while (captures != 0) {
+            index = addPawnMove(from, Long.numberOfTrailingZeros(captures), Move.CAPTURE, promotionRank, moves, index);
+            captures &= captures - 1;
+        }
+        return index;
+    }
+
+    private static int addPawnMove(int from, int to, int flags, long promotionRank, int[] moves, int index) {
+        if ((promotionRank & (1L << to)) != 0) {
+            moves[index++] = Move.encode(from, to, BitBoard.QUEEN, flags);
+            moves[index++] = Move.encode(from, to, BitBoard.ROOK, flags);
+            moves[index++] = Move.encode(from, to, BitBoard.BISHOP, flags);
+            moves[index++] = Move.encode(from, to, BitBoard.KNIGHT, flags);
+        } else {
+            moves[index++] = Move.encode(from, to) | flags;
+        }
+        return index;
+    }
+}
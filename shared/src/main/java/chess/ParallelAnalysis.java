@@ -0,0 +1,240 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Offline work spread over every core with fork/join: perft split by root move,
+ * and bulk analysis of many positions split by position.
+ * <p>
+ * Every task works on its own {@link BitBoard} copy or on a game no other task
+ * touches, so no locking is needed. Each report includes how many nodes each
+ * worker thread searched and how long it was busy.
+ */
+public final class ParallelAnalysis {
+
+    /**
+     * Nodes searched by one worker thread and the time it spent searching them
+     */
+    public record ThreadThroughput(String thread, long nodes, long busyNanos) {
+
+        public double nodesPerSecond() {
+            return busyNanos == 0 ? 0 : nodes / (busyNanos / 1e9);
+        }
+    }
+
+    public record PerftReport(long nodes, long elapsedNanos, List<ThreadThroughput> threads) {
+
+        public double nodesPerSecond() {
+            return elapsedNanos == 0 ? 0 : nodes / (elapsedNanos / 1e9);
+        }
+    }
+
+    /**
+     * @param status     check, checkmate, stalemate and legal move count for the side to move
+     * @param perftNodes leaf nodes at the requested perft depth, or 1 for depth 0
+     */
+    public record PositionReport(GameStatus status, long perftNodes) {
+    }
+
+    public record AnalysisReport(List<PositionReport> positions, long elapsedNanos,
+                                 List<ThreadThroughput> threads) {
+    }
+
+    private ParallelAnalysis() {
+    }
+
+    /**
+     * Runs perft on the common pool
+     *
+     * @see #perft(ChessGame, int, ForkJoinPool)
+     */
+    public static PerftReport perft(ChessGame game, int depth) {
+        return perft(game, depth, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Counts the leaf nodes reachable from a game's current position, searching
+     * the subtree under each root move as a separate task. The game itself is not
+     * modified.
+     *
+     * @param game  the game whose position to start from
+     * @param depth how many plies to search
+     * @param pool  the pool to run the tasks on
+     * @return the node count, elapsed time and per-thread throughput
+     */
+    public static PerftReport perft(ChessGame game, int depth, ForkJoinPool pool) {
+        BitBoard board = new BitBoard(game.getBoard().getBitBoard());
+        int color = BitBoard.colorIndex(game.getTeamTurn());
+        Map<Thread, Counter> counters = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        long nodes = pool.invoke(new RootPerftTask(board, color, depth, counters));
+        long elapsed = System.nanoTime() - start;
+
+        return new PerftReport(nodes, elapsed, throughput(counters));
+    }
+
+    /**
+     * Analyzes positions on the common pool
+     *
+     * @see #analyze(List, int, ForkJoinPool)
+     */
+    public static AnalysisReport analyze(List<ChessGame> games, int perftDepth) {
+        return analyze(games, perftDepth, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Works out the status of many positions at once and counts perft nodes
+     * from each, splitting the list between tasks. Each game must not be used
+     * elsewhere while this runs.
+     *
+     * @param games      the positions to analyze
+     * @param perftDepth how many plies of perft to count from each position
+     * @param pool       the pool to run the tasks on
+     * @return a report per position, in the same order as the games
+     */
+    public static AnalysisReport analyze(List<ChessGame> games, int perftDepth, ForkJoinPool pool) {
+        PositionReport[] reports = new PositionReport[games.size()];
+        Map<Thread, Counter> counters = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        pool.invoke(new AnalysisTask(games, perftDepth, reports, 0, reports.length, counters));
+        long elapsed = System.nanoTime() - start;
+
+        return new AnalysisReport(List.of(reports), elapsed, throughput(counters));
+    }
+
+    private static List<ThreadThroughput> throughput(Map<Thread, Counter> counters) {
+        List<ThreadThroughput> threads = new ArrayList<>();
+        for (Map.Entry<Thread, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            threads.add(new ThreadThroughput(entry.getKey().getName(), counter.nodes, counter.busyNanos));
+        }
+        threads.sort((a, b) -> a.thread().compareTo(b.thread()));
+        return Collections.unmodifiableList(threads);
+    }
+
+    private static void record(Map<Thread, Counter> counters, long nodes, long busyNanos) {
+        // Only the owning thread writes its counter; the pool's join publishes the totals
+        Counter counter = counters.computeIfAbsent(Thread.currentThread(), thread -> new Counter());
+        counter.nodes += nodes;
+        counter.busyNanos += busyNanos;
+    }
+
+    private static final class Counter {
+        private long nodes;
+        private long busyNanos;
+    }
+
+    private static final class RootPerftTask extends RecursiveTask<Long> {
+
+        private final BitBoard board;
+        private final int color;
+        private final int depth;
+        private final Map<Thread, Counter> counters;
+
+        private RootPerftTask(BitBoard board, int color, int depth, Map<Thread, Counter> counters) {
+            this.board = board;
+            this.color = color;
+            this.depth = depth;
+            this.counters = counters;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth <= 1) {
+                return searchSubtree(board, color, depth, counters);
+            }
+
+            int[] moves = new int[MoveGenerator.MAX_MOVES];
+            int count = MoveGenerator.generateLegalMoves(board, color, moves, 0);
+
+            // Each root move gets its own copy of the board to search
+            List<SubtreeTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                BitBoard child = new BitBoard(board);
+                child.makeMove(moves[i]);
+                tasks.add(new SubtreeTask(child, color ^ 1, depth - 1, counters));
+            }
+
+            long nodes = 0;
+            for (SubtreeTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+
+    private static final class SubtreeTask extends RecursiveTask<Long> {
+
+        private final BitBoard board;
+        private final int color;
+        private final int depth;
+        private final Map<Thread, Counter> counters;
+
+        private SubtreeTask(BitBoard board, int color, int depth, Map<Thread, Counter> counters) {
+            this.board = board;
+            this.color = color;
+            this.depth = depth;
+            this.counters = counters;
+        }
+
+        @Override
+        protected Long compute() {
+            return searchSubtree(board, color, depth, counters);
+        }
+    }
+
+    private static long searchSubtree(BitBoard board, int color, int depth, Map<Thread, Counter> counters) {
+        long start = System.nanoTime();
+        long nodes = Perft.perft(board, color, depth, new int[MoveGenerator.MAX_MOVES * (depth + 1)], 0);
+        record(counters, nodes, System.nanoTime() - start);
+        return nodes;
+    }
+
+    private static final class AnalysisTask extends RecursiveTask<Void> {
+
+        private final List<ChessGame> games;
+        private final int perftDepth;
+        private final PositionReport[] reports;
+        private final int from;
+        private final int to;
+        private final Map<Thread, Counter> counters;
+
+        private AnalysisTask(List<ChessGame> games, int perftDepth, PositionReport[] reports,
+                             int from, int to, Map<Thread, Counter> counters) {
+            this.games = games;
+            this.perftDepth = perftDepth;
+            this.reports = reports;
+            this.from = from;
+            this.to = to;
+            this.counters = counters;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from > 1) { // Split the range in half until each task has one position
+                int middle = (from + to) >>> 1;
+                invokeAll(new AnalysisTask(games, perftDepth, reports, from, middle, counters),
+                          new AnalysisTask(games, perftDepth, reports, middle, to, counters));
+                return null;
+            }
+
+            for (int i = from; i < to; i++) {
+                long start = System.nanoTime();
+                ChessGame game = games.get(i);
+                GameStatus status = game.getGameStatus();
+                long nodes = Perft.perft(game, perftDepth);
+                reports[i] = new PositionReport(status, nodes);
+                record(counters, nodes, System.nanoTime() - start);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package chess;
+
+/**
+ * Performance test (perft) for move generation: counts every leaf node of the
+ * legal move tree to a fixed depth. The counts can be checked against published
+ * values for standard positions, and the time it takes measures generation speed.
+ */
+public final class Perft {
+
+    private Perft() {
+    }
+
+    /**
+     * Counts the leaf nodes reachable from a game's current position. The game
+     * itself is not modified.
+     *
+     * @param game  the game whose position to start from
+     * @param depth how many plies to search
+     * @return the number of leaf nodes at that depth
+     */
+    public static long perft(ChessGame game, int depth) {
+        BitBoard board = new BitBoard(game.getBoard().getBitBoard());
+        int color = BitBoard.colorIndex(game.getTeamTurn());
+        return perft(board, color, depth, new int[MoveGenerator.MAX_MOVES * (depth + 1)], 0);
+    }
+
+    /**
+     * Counts the leaf nodes reachable from a position, using the move buffer from
+     * index onward for each ply's moves
+     *
+     * @param board the board to search, which is left as it was found
+     * @param color the side to move
+     * @param depth how many plies to search
+     * @param moves buffer with room for MAX_MOVES per remaining ply
+     * @param index where in the buffer this ply's moves start
+     * @return the number of leaf nodes at that depth
+     */
+    public static long perft(BitBoard board, int color, int depth, int[] moves, int index) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        int end = MoveGenerator.generateLegalMoves(board, color, moves, index);
+        if (depth == 1) { // Every generated move is legal, so the last ply only needs counting
+            return end - index;
+        }
+
+        long nodes = 0;
+        for (int i = index; i < end; i++) {
+            board.makeMove(moves[i]);
+            nodes += perft(board, color ^ 1, depth - 1, moves, end);
+            board.unmakeMove();
+        }
+
+        return nodes;
+    }
+}
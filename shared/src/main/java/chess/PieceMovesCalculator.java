@@ -21,18 +21,29 @@ public class PieceMovesCalculator {
         return new ArrayList<>();
     }
 
-    public Boolean isEnemyPiece(ChessPosition position) { return chessBoard.getPiece(position).getTeamColor() != pieceColor; }
-
-    public Boolean isFriendlyPiece(ChessPosition position) { return chessBoard.getPiece(position).getTeamColor() == pieceColor; }
-
-    public Boolean isEmpty(ChessPosition position) { return chessBoard.getPiece(position) == null; }
-
-    public ChessMove newMove(ChessPosition end) { return new ChessMove(chessPosition, end, null); }
-
-    public Boolean withinChessboard(ChessPosition position) {
-        int row = position.getRow();
-        int col = position.getColumn();
+    public ChessMove newMove(ChessPosition end) { return ChessMove.of(chessPosition, end, null); }
+
+    /**
+     * Adds a move to each square in a bitboard of target squares. Subclasses
+     * look their piece's attacked squares up in {@link AttackTables} or
+     * {@link MagicBitboards} and mask them with {@link #notFriendly()}, so the
+     * targets are already every square the piece can move to.
+     *
+     * @param moves   the collection to add the moves to
+     * @param targets bitboard of squares this piece can move to
+     */
+    public void addMoves(Collection<ChessMove> moves, long targets) {
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            moves.add(newMove(ChessPosition.of(square)));
+            targets &= targets - 1;
+        }
+    }
 
-        return row <= 8 && col <= 8 && row >= 1 && col >= 1;
+    /**
+     * @return bitboard of every square not occupied by one of this piece's allies
+     */
+    public long notFriendly() {
+        return ~chessBoard.getBitBoard().getOccupancy(BitBoard.colorIndex(pieceColor));
     }
 }
@@ -0,0 +1,23 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+public class QueenMovesCalculator extends PieceMovesCalculator {
+
+    public QueenMovesCalculator(ChessBoard board, ChessPosition position) {
+        super(board, position);
+    }
+
+    @Override
+    public Collection<ChessMove> calculateMoves() {
+        Collection<ChessMove> moves = new ArrayList<>();
+
+        // A queen attacks the union of the rook and bishop rays from its square
+        long occupied = chessBoard.getBitBoard().getOccupied();
+        long targets = MagicBitboards.queenAttacks(BitBoard.square(chessPosition), occupied) & notFriendly();
+        addMoves(moves, targets);
+
+        return moves;
+    }
+}
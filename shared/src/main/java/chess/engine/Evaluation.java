@@ -0,0 +1,75 @@
+package chess.engine;
+
+import chess.BitBoard;
+import chess.PieceSquareTables;
+
+/**
+ * Static evaluation of a position, in centipawns from one side's point of view.
+ * <p>
+ * The score is material plus piece-square values, blended between middlegame
+ * and endgame by phase. The board keeps the totals up to date as pieces move
+ * (see {@link PieceSquareTables}), so {@link #evaluate} is a few reads and a
+ * multiply. {@link #evaluateFromScratch} sums the same terms square by square,
+ * to check the running totals against.
+ */
+public final class Evaluation {
+
+    private Evaluation() {
+    }
+
+    /**
+     * @param board the position to evaluate
+     * @param color the side whose point of view to score from
+     * @return positive if that side is better off
+     */
+    public static int evaluate(BitBoard board, int color) {
+        int score = PieceSquareTables.taper(board.getMiddlegameScore(), board.getEndgameScore(), board.getPhase());
+        return color == BitBoard.WHITE ? score : -score;
+    }
+
+    /**
+     * Evaluates a position by visiting every piece instead of using the totals
+     * the board keeps; always equal to {@link #evaluate}
+     */
+    public static int evaluateFromScratch(BitBoard board, int color) {
+        int middlegame = 0;
+        int endgame = 0;
+        int phase = 0;
+        for (long remaining = board.getOccupied(); remaining != 0; remaining &= remaining - 1) {
+            int square = Long.numberOfTrailingZeros(remaining);
+            int piece = board.pieceAt(square);
+            middlegame += PieceSquareTables.middlegame(piece, square);
+            endgame += PieceSquareTables.endgame(piece, square);
+            phase += PieceSquareTables.phase(piece);
+        }
+        int score = PieceSquareTables.taper(middlegame, endgame, phase);
+        return color == BitBoard.WHITE ? score : -score;
+    }
+
+    /**
+     * @return a new board with the ranks flipped and the colors swapped, so
+     * white's position is black's and the other way round
+     */
+    public static BitBoard mirror(BitBoard board) {
+        BitBoard mirrored = new BitBoard();
+        for (long remaining = board.getOccupied(); remaining != 0; remaining &= remaining - 1) {
+            int square = Long.numberOfTrailingZeros(remaining);
+            int piece = board.pieceAt(square);
+            mirrored.setPiece(square ^ 56, BitBoard.pieceIndex(BitBoard.colorOf(piece) ^ 1, BitBoard.typeOf(piece)));
+        }
+        return mirrored;
+    }
+
+    /**
+     * Self-test for the evaluation: a position must score the same for one side
+     * as its mirror image does for the other side, and the board's running
+     * totals must match a count from scratch
+     *
+     * @return True if the board passes both checks
+     */
+    public static boolean isSymmetric(BitBoard board) {
+        int score = evaluate(board, BitBoard.WHITE);
+        return score == evaluate(mirror(board), BitBoard.BLACK)
+               && score == evaluateFromScratch(board, BitBoard.WHITE);
+    }
+}
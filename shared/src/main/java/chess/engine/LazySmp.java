@@ -0,0 +1,217 @@
+package chess.engine;
+
+import chess.ChessGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A multi-threaded search in the Lazy SMP style: several threads search the
+ * same root at once and share one {@link TranspositionTable}. There is no
+ * other communication between them. Each thread finds the table already
+ * filled with what the others have searched, so together they reach a given
+ * depth sooner than one thread alone.
+ * <p>
+ * The main thread's result is returned once it finishes, and the helpers are
+ * then stopped. The searches run on a fixed pool of platform threads owned by
+ * this object, one per search thread, so a caller on a virtual thread only
+ * waits and never searches itself. Close the object to shut the pool down.
+ * <p>
+ * Only one search runs at a time per LazySmp; concurrent callers wait their
+ * turn.
+ */
+public class LazySmp implements AutoCloseable {
+
+    public static final int MAX_THREADS = 256;
+
+    /**
+     * How a number of threads compares with one thread at searching to the same depth
+     *
+     * @param threads    how many threads searched
+     * @param result     the search result, with the nodes of every thread
+     * @param speedup    how many times faster than one thread it reached the depth
+     * @param efficiency speedup per thread, where 1 is perfect scaling
+     */
+    public record ScalingReport(int threads, SearchResult result, double speedup, double efficiency) {
+    }
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+    // How often a search waiting for its threads to stop checks whether the pool was closed
+    private static final long AWAIT_POLL_MILLIS = 10;
+
+    private final Search[] searches;
+    private final ExecutorService pool;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    /**
+     * Creates a search that uses the shared transposition table
+     *
+     * @param threads how many threads to search with, including the main thread
+     */
+    public LazySmp(int threads) {
+        this(threads, TranspositionTable.getShared());
+    }
+
+    /**
+     * @param threads how many threads to search with, including the main thread
+     * @param table   the transposition table the threads share
+     */
+    public LazySmp(int threads, TranspositionTable table) {
+        if (threads < 1 || threads > MAX_THREADS) {
+            throw new IllegalArgumentException("Error: Thread count must be between 1 and " + MAX_THREADS);
+        }
+        searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(table);
+        }
+
+        String prefix = "lazy-smp-" + POOL_COUNT.incrementAndGet() + "-";
+        AtomicInteger threadCount = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, prefix + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return one search thread per available processor
+     */
+    public static int defaultThreads() {
+        return Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS);
+    }
+
+    /**
+     * Searches the position for the side to move on every thread
+     *
+     * @param game   the game to search; it is not changed
+     * @param limits how deep and how long to search
+     * @return the main thread's best move, with the nodes searched by all threads
+     */
+    public synchronized SearchResult search(ChessGame game, SearchLimits limits) {
+        long start = System.nanoTime();
+        stopped.set(false);
+
+        List<Future<SearchResult>> futures = new ArrayList<>(searches.length);
+        for (int i = 0; i < searches.length; i++) {
+            Search search = searches[i];
+            int helper = i;
+            futures.add(pool.submit(() -> search.search(game, limits, helper, stopped)));
+        }
+
+        try {
+            SearchResult main = futures.get(0).get();
+            stopped.set(true);
+
+            long nodes = main.nodes();
+            for (int i = 1; i < futures.size(); i++) {
+                nodes += futures.get(i).get().nodes();
+            }
+            return new SearchResult(main.bestMove(), main.score(), main.depth(), nodes, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Error: Search was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error: Search failed", e.getCause());
+        } finally {
+            stopped.set(true);
+            awaitAll(futures);
+        }
+    }
+
+    /**
+     * Waits for every thread to finish, so no thread is still using its Search
+     * when the next search hands it out again. Their results and failures are
+     * ignored; an interrupt while waiting is kept for the caller. Threads that
+     * never started because the pool was closed are cancelled instead.
+     */
+    private void awaitAll(List<Future<SearchResult>> futures) {
+        boolean interrupted = false;
+        for (Future<SearchResult> future : futures) {
+            while (true) {
+                if (pool.isShutdown()) {
+                    future.cancel(false);
+                }
+                try {
+                    future.get(AWAIT_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (TimeoutException e) {
+                    // Still stopping; check the pool again
+                } catch (ExecutionException | CancellationException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Asks a running search to stop every thread and return the best move it
+     * has so far. Safe to call from any thread.
+     */
+    public void stop() {
+        stopped.set(true);
+    }
+
+    public int getThreads() {
+        return searches.length;
+    }
+
+    @Override
+    public void close() {
+        stopped.set(true);
+        pool.shutdownNow();
+    }
+
+    /**
+     * Searches a position once for each thread count, doubling from 1 up to the
+     * given maximum, and compares the time each took with one thread. Each run
+     * starts from an empty table so earlier runs cannot help it. Limits should
+     * be a fixed depth, since a time limit takes the same time at every count.
+     *
+     * @param game       the game to search; it is not changed
+     * @param limits     how deep to search
+     * @param maxThreads the most threads to try; also tried if not a power of two
+     * @param megabytes  the size of each run's transposition table
+     * @return one report per thread count, in increasing order
+     */
+    public static List<ScalingReport> measureScaling(ChessGame game, SearchLimits limits, int maxThreads,
+                                                     int megabytes) {
+        List<ScalingReport> reports = new ArrayList<>();
+        long baseNanos = 0;
+
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+            SearchResult result;
+            try (LazySmp search = new LazySmp(threads, new TranspositionTable(megabytes))) {
+                result = search.search(game, limits);
+            }
+            if (threads == 1) {
+                baseNanos = result.elapsedNanos();
+            }
+            double speedup = (double) baseNanos / result.elapsedNanos();
+            reports.add(new ScalingReport(threads, result, speedup, speedup / threads));
+        }
+        return Collections.unmodifiableList(reports);
+    }
+
+    private static int nextThreadCount(int threads, int maxThreads) {
+        if (threads == maxThreads) {
+            return maxThreads + 1;
+        }
+        return Math.min(threads * 2, maxThreads);
+    }
+}
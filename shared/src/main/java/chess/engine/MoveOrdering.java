@@ -0,0 +1,192 @@
+package chess.engine;
+
+import chess.BitBoard;
+import chess.Move;
+import chess.MoveGenerator;
+
+import java.util.Arrays;
+
+/**
+ * Puts the moves of each ply in the order most likely to cause an early
+ * beta cutoff, working over the same packed int buffer as the search.
+ * <p>
+ * Moves are tried in this order:
+ * <ol>
+ * <li>the hash move from the transposition table</li>
+ * <li>captures that do not lose material by static exchange, and queen
+ * promotions, most valuable victim first and then least valuable attacker</li>
+ * <li>the two killer moves for the ply: quiet moves that caused a cutoff in a
+ * sibling position</li>
+ * <li>other quiet moves, by history: how often and how deep the same move
+ * has caused cutoffs anywhere in the search</li>
+ * <li>captures that lose material, and underpromotions</li>
+ * </ol>
+ * Each move is scored once, then picked one at a time by selection, so a ply
+ * that cuts off after its first move never pays for a full sort.
+ * <p>
+ * An ordering keeps killers, history and cutoff statistics for one search
+ * thread, and is not thread-safe.
+ */
+public class MoveOrdering {
+
+    /**
+     * How often the search cut off, and how often it did so on the first move
+     * it tried. A well ordered search cuts off on the first move most of the time.
+     */
+    public record Statistics(long cutoffs, long firstMoveCutoffs) {
+
+        public double firstMoveCutoffRate() {
+            return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs;
+        }
+    }
+
+    private static final int HASH_MOVE = 1 << 30;
+    private static final int GOOD_CAPTURE = 1 << 28;
+    private static final int FIRST_KILLER = 1 << 27;
+    private static final int SECOND_KILLER = FIRST_KILLER - 1;
+    private static final int MAX_HISTORY = 1 << 20;
+    private static final int BAD_CAPTURE = -(1 << 28);
+
+    private final int[] scores = new int[MoveGenerator.MAX_MOVES * (SearchLimits.MAX_DEPTH + 1)];
+    private final int[][] killers = new int[SearchLimits.MAX_DEPTH + 1][2];
+    // Indexed by color, then from square * 64 + to square
+    private final int[][] history = new int[2][64 * 64];
+
+    private long cutoffs;
+    private long firstMoveCutoffs;
+
+    /**
+     * Forgets the killers and cutoff statistics of the last search and halves
+     * the history, so it still helps but new cutoffs soon outweigh it
+     */
+    public void newSearch() {
+        for (int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, Move.NONE);
+        }
+        for (int[] colorHistory : history) {
+            for (int i = 0; i < colorHistory.length; i++) {
+                colorHistory[i] >>= 1;
+            }
+        }
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+    }
+
+    /**
+     * Scores one ply's moves for {@link #next}
+     *
+     * @param board    the position the moves are from
+     * @param color    the side to move
+     * @param moves    the move buffer
+     * @param index    where the ply's moves start
+     * @param end      where the ply's moves end
+     * @param hashMove the best move stored for this position, or {@link Move#NONE}
+     * @param ply      how far the position is from the root
+     */
+    public void score(BitBoard board, int color, int[] moves, int index, int end, int hashMove, int ply) {
+        int hash = Move.stripFlags(hashMove);
+        int[] plyKillers = killers[ply];
+        int[] colorHistory = history[color];
+
+        for (int i = index; i < end; i++) {
+            int move = moves[i];
+            int stripped = Move.stripFlags(move);
+            int score;
+            if (hashMove != Move.NONE && stripped == hash) {
+                score = HASH_MOVE;
+            } else if (Move.isCapture(move) || Move.isPromotion(move)) {
+                score = tacticalScore(board, move);
+            } else if (stripped == plyKillers[0]) {
+                score = FIRST_KILLER;
+            } else if (stripped == plyKillers[1]) {
+                score = SECOND_KILLER;
+            } else {
+                score = colorHistory[stripped & 0xFFF];
+            }
+            scores[i] = score;
+        }
+    }
+
+    private static int tacticalScore(BitBoard board, int move) {
+        int victim = board.pieceAt(Move.to(move));
+        int attacker = BitBoard.typeOf(board.pieceAt(Move.from(move)));
+        int mvvLva = (victim == BitBoard.EMPTY ? 0 : StaticExchange.value(BitBoard.typeOf(victim)) * 8)
+                     - StaticExchange.value(attacker) / 100;
+
+        if (Move.isPromotion(move)) {
+            if (Move.promotionType(move) != BitBoard.QUEEN) {
+                return BAD_CAPTURE + mvvLva;
+            }
+            mvvLva += StaticExchange.value(BitBoard.QUEEN);
+        }
+        return StaticExchange.isAtLeast(board, move, 0) ? GOOD_CAPTURE + mvvLva : BAD_CAPTURE + mvvLva;
+    }
+
+    /**
+     * Finds the best scored move from a position in the ply onwards and swaps
+     * it into that position
+     *
+     * @param moves the move buffer, already scored with {@link #score}
+     * @param i     the position to fill
+     * @param end   where the ply's moves end
+     * @return the move now at position i
+     */
+    public int next(int[] moves, int i, int end) {
+        int best = i;
+        for (int j = i + 1; j < end; j++) {
+            if (scores[j] > scores[best]) {
+                best = j;
+            }
+        }
+        if (best != i) {
+            int move = moves[best];
+            moves[best] = moves[i];
+            moves[i] = move;
+            int score = scores[best];
+            scores[best] = scores[i];
+            scores[i] = score;
+        }
+        return moves[i];
+    }
+
+    /**
+     * Learns from a move that caused a beta cutoff. Quiet moves become the
+     * ply's first killer and gain history in proportion to the depth squared.
+     *
+     * @param color      the side that made the move
+     * @param move       the move
+     * @param ply        how far the position is from the root
+     * @param depth      the depth the position was searched to
+     * @param moveNumber how many moves were tried before this one
+     */
+    public void recordCutoff(int color, int move, int ply, int depth, int moveNumber) {
+        cutoffs++;
+        if (moveNumber == 0) {
+            firstMoveCutoffs++;
+        }
+        if (Move.isCapture(move) || Move.isPromotion(move)) {
+            return;
+        }
+
+        int stripped = Move.stripFlags(move);
+        int[] plyKillers = killers[ply];
+        if (plyKillers[0] != stripped) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = stripped;
+        }
+
+        int[] colorHistory = history[color];
+        int index = stripped & 0xFFF;
+        colorHistory[index] += depth * depth;
+        if (colorHistory[index] >= MAX_HISTORY) {
+            // Keep history below the killers while preserving its order
+            for (int i = 0; i < colorHistory.length; i++) {
+                colorHistory[i] >>= 1;
+            }
+        }
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(cutoffs, firstMoveCutoffs);
+    }
+}
@@ -0,0 +1,412 @@
+package chess.engine;
+
+import chess.BitBoard;
+import chess.ChessGame;
+import chess.Move;
+import chess.MoveGenerator;
+import chess.Zobrist;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds the best move in a position with a negamax alpha-beta search.
+ * <p>
+ * The search deepens one ply at a time and keeps the best move of the last
+ * iteration it finished, so it can be stopped at any point by the time or node
+ * budget in {@link SearchLimits}, or by another thread calling {@link #stop()}.
+ * The budget only applies once the first iteration has finished, so even a
+ * tight one returns a searched move, but a stop takes effect at once; a search
+ * stopped during its first iteration returns its first move in move order.
+ * From the fourth iteration on, each search starts with a narrow aspiration
+ * window around the previous score and only widens it when the score falls
+ * outside.
+ * <p>
+ * The search plays moves on its own copy of the board with make/unmake and
+ * keeps every ply's moves in one preallocated buffer, so a search allocates
+ * nothing per node. A Search is not thread-safe; use one per thread.
+ * <p>
+ * Results for positions the search has finished are kept in a
+ * {@link TranspositionTable}. Its scores cut off repeat visits to a position,
+ * and its best moves are searched first, followed by the rest of the moves in
+ * {@link MoveOrdering} order. By default every search shares one
+ * table, so concurrent games and hints reuse each other's work.
+ * <p>
+ * At the end of the main search, a quiescence search plays out captures and
+ * promotions until the position is quiet, so a leaf is never scored halfway
+ * through an exchange. It skips captures that lose material by static
+ * exchange, and captures that could not bring the score back up to alpha even
+ * if nothing were recaptured (delta pruning).
+ */
+public class Search {
+
+    public static final int MATE = 32000;
+    public static final int INFINITY = 32001;
+
+    static final int ASPIRATION_WINDOW = 50;
+    static final int ASPIRATION_DEPTH = 4;
+
+    // Allowance over a capture's value for positional gains when delta pruning
+    static final int DELTA_MARGIN = 200;
+
+    // How many nodes to visit between looks at the clock
+    private static final int CHECK_INTERVAL = 1024;
+
+    private static final AtomicBoolean NEVER_STOP = new AtomicBoolean();
+
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES * (SearchLimits.MAX_DEPTH + 1)];
+    private final TranspositionTable table;
+    private final MoveOrdering ordering = new MoveOrdering();
+
+    private BitBoard board;
+    private long nodes;
+    private long maxNodes;
+    private long deadline;
+    private volatile boolean stopped;
+    private AtomicBoolean groupStop = NEVER_STOP;
+    private boolean canAbort;
+    private boolean aborted;
+    private boolean quiescence = true;
+
+    /**
+     * Creates a search that uses the shared transposition table
+     */
+    public Search() {
+        this(TranspositionTable.getShared());
+    }
+
+    /**
+     * @param table the transposition table to read and store results in
+     */
+    public Search(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Searches the position for the side to move
+     *
+     * @param game   the game to search; it is not changed
+     * @param limits how deep and how long to search
+     * @return the best move found, with its score, depth and speed
+     */
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        return search(game, limits, 0, NEVER_STOP);
+    }
+
+    /**
+     * Runs one thread of a {@link LazySmp} search. Helpers start their first
+     * iteration at different depths, so the threads spread out over the tree
+     * and fill the shared table for each other instead of all searching the
+     * same nodes in step.
+     *
+     * @param helper    0 for the main thread, otherwise which helper this is
+     * @param groupStop set to stop every thread of the search at once
+     */
+    SearchResult search(ChessGame game, SearchLimits limits, int helper, AtomicBoolean groupStop) {
+        long start = System.nanoTime();
+        board = new BitBoard(game.getBoard().getBitBoard());
+        int color = BitBoard.colorIndex(game.getTeamTurn());
+
+        nodes = 0;
+        maxNodes = limits.maxNodes();
+        deadline = deadline(start, limits.timeMillis());
+        stopped = false;
+        this.groupStop = groupStop;
+        canAbort = false;
+        aborted = false;
+        if (helper == 0) {
+            table.newSearch();
+        }
+        ordering.newSearch();
+
+        int count = MoveGenerator.generateLegalMoves(board, color, moves, 0);
+        if (count == 0) {
+            int score = board.isInCheck(color) ? -MATE : 0;
+            return new SearchResult(null, score, 0, 0, System.nanoTime() - start);
+        }
+        // Ordered once here; after that each iteration moves its best move to the front
+        long entry = table.probe(positionKey(color));
+        ordering.score(board, color, moves, 0, count, entry == 0 ? Move.NONE : TranspositionTable.move(entry), 0);
+        for (int i = 0; i < count; i++) {
+            ordering.next(moves, i, count);
+        }
+
+        int bestMove = moves[0];
+        int bestScore = 0;
+        int completedDepth = 0;
+
+        for (int depth = Math.min(1 + helper % 2, limits.maxDepth()); depth <= limits.maxDepth(); depth++) {
+            int alpha = -INFINITY;
+            int beta = INFINITY;
+            int window = ASPIRATION_WINDOW;
+            if (depth >= ASPIRATION_DEPTH) {
+                alpha = Math.max(bestScore - window, -INFINITY);
+                beta = Math.min(bestScore + window, INFINITY);
+            }
+
+            int score;
+            while (true) {
+                score = searchRoot(color, depth, alpha, beta, count);
+                if (aborted) {
+                    break;
+                }
+                // Outside the window the score is only a bound, so search again wider on that side
+                window *= 2;
+                if (score <= alpha) {
+                    alpha = Math.max(score - window, -INFINITY);
+                } else if (score >= beta) {
+                    beta = Math.min(score + window, INFINITY);
+                } else {
+                    break;
+                }
+            }
+            if (aborted) {
+                break;
+            }
+
+            bestMove = moves[0];
+            bestScore = score;
+            completedDepth = depth;
+            table.store(positionKey(color), bestMove, TranspositionTable.scoreToTable(score, 0), depth,
+                        TranspositionTable.EXACT);
+            canAbort = true;
+
+            // A forced mate will not get any shorter by searching deeper
+            if (Math.abs(score) >= MATE - depth) {
+                break;
+            }
+        }
+
+        return new SearchResult(Move.toChessMove(bestMove), bestScore, completedDepth, nodes,
+                                System.nanoTime() - start);
+    }
+
+    /**
+     * @return the nanoTime at which a search started at start runs out of time,
+     * or Long.MAX_VALUE if the budget is too large to ever run out
+     */
+    private static long deadline(long start, long timeMillis) {
+        try {
+            return Math.addExact(start, Math.multiplyExact(timeMillis, 1_000_000L));
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @param quiescence whether to search captures past the end of the main
+     *                   search, on by default; off scores leaves as they stand
+     */
+    public void setQuiescence(boolean quiescence) {
+        this.quiescence = quiescence;
+    }
+
+    public boolean isQuiescence() {
+        return quiescence;
+    }
+
+    /**
+     * @return how well moves were ordered in the last search, for tuning
+     */
+    public MoveOrdering.Statistics getOrderingStatistics() {
+        return ordering.getStatistics();
+    }
+
+    /**
+     * Asks a running search to stop and return the best move it has so far.
+     * Safe to call from any thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Searches each root move, keeping the root moves at the start of the buffer
+     * with the best one moved to the front so the next iteration tries it first
+     */
+    private int searchRoot(int color, int depth, int alpha, int beta, int count) {
+        int best = -INFINITY;
+        for (int i = 0; i < count; i++) {
+            // Small searches may never reach a node count check, so each root move checks too
+            checkBudget();
+            if (aborted) {
+                return best;
+            }
+            int move = moves[i];
+            board.makeMove(move);
+            int score = -negamax(color ^ 1, depth - 1, -beta, -alpha, 1, count);
+            board.unmakeMove();
+
+            if (aborted) {
+                return best;
+            }
+            if (score > best) {
+                best = score;
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param index where in the move buffer this ply's moves start
+     * @return the score for the side to move, or 0 if the search was aborted
+     */
+    private int negamax(int color, int depth, int alpha, int beta, int ply, int index) {
+        if (depth == 0 && quiescence) {
+            return quiesce(color, alpha, beta, ply, index);
+        }
+        if (++nodes % CHECK_INTERVAL == 0) {
+            checkBudget();
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        if (depth == 0 || ply >= SearchLimits.MAX_DEPTH) {
+            return Evaluation.evaluate(board, color);
+        }
+
+        long positionKey = positionKey(color);
+        long entry = table.probe(positionKey);
+        int hashMove = Move.NONE;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                    || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int end = MoveGenerator.generateLegalMoves(board, color, moves, index);
+        if (end == index) {
+            // Prefer the quickest mate, and the slowest when being mated
+            return board.isInCheck(color) ? -MATE + ply : 0;
+        }
+        ordering.score(board, color, moves, index, end, hashMove, ply);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = index; i < end; i++) {
+            int move = ordering.next(moves, i, end);
+            board.makeMove(move);
+            int score = -negamax(color ^ 1, depth - 1, -beta, -alpha, ply + 1, end);
+            board.unmakeMove();
+
+            // An aborted search's scores are meaningless, so nothing is stored
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        ordering.recordCutoff(color, move, ply, depth, i - index);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        // Below alpha every move failed, so none of them is known to be best
+        table.store(positionKey, bound == TranspositionTable.UPPER_BOUND ? Move.NONE : bestMove,
+                    TranspositionTable.scoreToTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Searches only captures and promotions, or every move when in check, until
+     * the position is quiet. The side to move may instead stand pat on the
+     * static evaluation, since it is not forced to capture.
+     *
+     * @param index where in the move buffer this ply's moves start
+     * @return the score for the side to move, or 0 if the search was aborted
+     */
+    private int quiesce(int color, int alpha, int beta, int ply, int index) {
+        if (++nodes % CHECK_INTERVAL == 0) {
+            checkBudget();
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        boolean inCheck = board.isInCheck(color);
+        int standPat = Evaluation.evaluate(board, color);
+        if (ply >= SearchLimits.MAX_DEPTH) {
+            return standPat;
+        }
+        if (!inCheck) {
+            if (standPat >= beta) {
+                return standPat;
+            }
+            alpha = Math.max(alpha, standPat);
+        }
+
+        // In check every evasion is searched, which also finds mate
+        int end = inCheck ? MoveGenerator.generateLegalMoves(board, color, moves, index)
+                : MoveGenerator.generateLegalCaptures(board, color, moves, index);
+        if (inCheck && end == index) {
+            return -MATE + ply;
+        }
+        ordering.score(board, color, moves, index, end, Move.NONE, ply);
+
+        int best = inCheck ? -INFINITY : standPat;
+        for (int i = index; i < end; i++) {
+            int move = ordering.next(moves, i, end);
+            if (!inCheck && !Move.isPromotion(move)) {
+                int captured = BitBoard.typeOf(board.pieceAt(Move.to(move)));
+                if (standPat + StaticExchange.value(captured) + DELTA_MARGIN <= alpha
+                    || !StaticExchange.isAtLeast(board, move, 0)) {
+                    continue;
+                }
+            }
+
+            board.makeMove(move);
+            int score = -quiesce(color ^ 1, -beta, -alpha, ply + 1, end);
+            board.unmakeMove();
+
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private long positionKey(int color) {
+        long key = board.getZobristKey();
+        return color == BitBoard.BLACK ? key ^ Zobrist.SIDE_TO_MOVE : key;
+    }
+
+    private void checkBudget() {
+        // A stop ends the search at once; the budget only once there is a searched move to return
+        if (stopped || groupStop.get() || Thread.currentThread().isInterrupted()
+            || canAbort && (nodes >= maxNodes || System.nanoTime() >= deadline)) {
+            aborted = true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package chess.engine;
+
+/**
+ * How far and how long a search may run. The search stops at whichever limit
+ * it reaches first and returns the best move from the deepest finished
+ * iteration.
+ *
+ * @param maxDepth   the deepest iteration to search, in plies
+ * @param timeMillis wall-clock budget in milliseconds
+ * @param maxNodes   budget of positions to visit
+ */
+public record SearchLimits(int maxDepth, long timeMillis, long maxNodes) {
+
+    public static final int MAX_DEPTH = 64;
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    public SearchLimits {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Error: Search depth must be between 1 and " + MAX_DEPTH);
+        }
+        if (timeMillis <= 0 || maxNodes <= 0) {
+            throw new IllegalArgumentException("Error: Search budget must be positive");
+        }
+    }
+
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, UNLIMITED, UNLIMITED);
+    }
+
+    public static SearchLimits time(long timeMillis) {
+        return new SearchLimits(MAX_DEPTH, timeMillis, UNLIMITED);
+    }
+
+    public static SearchLimits nodes(long maxNodes) {
+        return new SearchLimits(MAX_DEPTH, UNLIMITED, maxNodes);
+    }
+}
@@ -0,0 +1,26 @@
+package chess.engine;
+
+import chess.ChessMove;
+
+/**
+ * The outcome of a search
+ *
+ * @param bestMove     the move to play, or null if the side to move has no legal moves
+ * @param score        the score of the position in centipawns for the side to move
+ * @param depth        the deepest iteration the search finished, or 0 if it was stopped during the first
+ * @param nodes        how many positions the search visited
+ * @param elapsedNanos how long the search ran
+ */
+public record SearchResult(ChessMove bestMove, int score, int depth, long nodes, long elapsedNanos) {
+
+    public double nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * @return True if the score means one side can force checkmate
+     */
+    public boolean isMateScore() {
+        return Math.abs(score) >= Search.MATE - SearchLimits.MAX_DEPTH * 2;
+    }
+}
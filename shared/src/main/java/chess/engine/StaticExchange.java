@@ -0,0 +1,117 @@
+package chess.engine;
+
+import chess.BitBoard;
+import chess.MagicBitboards;
+import chess.Move;
+
+/**
+ * Static exchange evaluation: works out what a move wins or loses if both
+ * sides keep recapturing on its destination square, always with their least
+ * valuable attacker, and either side may stop when carrying on would lose
+ * material. Attackers hidden behind other sliding pieces join in as the
+ * pieces in front of them are used up.
+ * <p>
+ * The exchange is played out on a copy of the occupancy only, so the board is
+ * never changed and nothing is allocated. Pins and checks are ignored.
+ */
+public final class StaticExchange {
+
+    // Indexed by type: king, queen, bishop, knight, rook, pawn
+    static final int[] VALUES = {20000, 900, 330, 320, 500, 100};
+
+    private StaticExchange() {
+    }
+
+    /**
+     * @return the value of a piece type in centipawns, as used for exchanges
+     */
+    public static int value(int type) {
+        return VALUES[type];
+    }
+
+    /**
+     * Determines whether a move wins at least a given amount of material once
+     * every profitable recapture has been made
+     *
+     * @param board     the position the move is made in
+     * @param move      the packed move
+     * @param threshold the least material the side moving must end up with, in centipawns
+     * @return True if the exchange is worth at least the threshold
+     */
+    public static boolean isAtLeast(BitBoard board, int move, int threshold) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int moving = board.pieceAt(from);
+        int captured = board.pieceAt(to);
+
+        // What the side moving is ahead by if the exchange stops now, less the threshold
+        int swap = (captured == BitBoard.EMPTY ? 0 : VALUES[BitBoard.typeOf(captured)]) - threshold;
+        if (swap < 0) {
+            return false;
+        }
+        // Still enough even if the moving piece is lost for nothing
+        swap = VALUES[BitBoard.typeOf(moving)] - swap;
+        if (swap <= 0) {
+            return true;
+        }
+
+        long occupied = board.getOccupied() ^ (1L << from) ^ (1L << to);
+        long attackers = board.attackersOf(to, occupied);
+        long bishops = board.getPieces(BitBoard.WHITE, BitBoard.BISHOP) | board.getPieces(BitBoard.BLACK, BitBoard.BISHOP)
+                       | board.getPieces(BitBoard.WHITE, BitBoard.QUEEN) | board.getPieces(BitBoard.BLACK, BitBoard.QUEEN);
+        long rooks = board.getPieces(BitBoard.WHITE, BitBoard.ROOK) | board.getPieces(BitBoard.BLACK, BitBoard.ROOK)
+                     | board.getPieces(BitBoard.WHITE, BitBoard.QUEEN) | board.getPieces(BitBoard.BLACK, BitBoard.QUEEN);
+
+        int color = BitBoard.colorOf(moving);
+        int result = 1;
+        while (true) {
+            color ^= 1;
+            attackers &= occupied;
+            long ownAttackers = attackers & board.getOccupancy(color);
+            if (ownAttackers == 0) {
+                break;
+            }
+            result ^= 1;
+
+            int type = leastValuableType(board, ownAttackers, color);
+            if (type == BitBoard.KING) {
+                // The king may only take last, when nothing can take it back
+                return (attackers & ~board.getOccupancy(color)) != 0 ? result == 0 : result != 0;
+            }
+
+            // Each capture flips who is ahead; once the side to capture cannot come out ahead it stops
+            swap = VALUES[type] - swap;
+            if (swap < result) {
+                break;
+            }
+
+            occupied ^= Long.lowestOneBit(ownAttackers & board.getPieces(color, type));
+            if (type == BitBoard.PAWN || type == BitBoard.BISHOP || type == BitBoard.QUEEN) {
+                attackers |= MagicBitboards.bishopAttacks(to, occupied) & bishops;
+            }
+            if (type == BitBoard.ROOK || type == BitBoard.QUEEN) {
+                attackers |= MagicBitboards.rookAttacks(to, occupied) & rooks;
+            }
+        }
+        return result != 0;
+    }
+
+    private static int leastValuableType(BitBoard board, long attackers, int color) {
+        if ((attackers & board.getPieces(color, BitBoard.PAWN)) != 0) {
+            return BitBoard.PAWN;
+        }
+        if ((attackers & board.getPieces(color, BitBoard.KNIGHT)) != 0) {
+            return BitBoard.KNIGHT;
+        }
+        if ((attackers & board.getPieces(color, BitBoard.BISHOP)) != 0) {
+            return BitBoard.BISHOP;
+        }
+        if ((attackers & board.getPieces(color, BitBoard.ROOK)) != 0) {
+            return BitBoard.ROOK;
+        }
+        if ((attackers & board.getPieces(color, BitBoard.QUEEN)) != 0) {
+            return BitBoard.QUEEN;
+        }
+        return BitBoard.KING;
+    }
+}
@@ -0,0 +1,219 @@
+package chess.engine;
+
+import chess.Move;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table of search results, keyed by position key (see
+ * {@link chess.ChessGame#getPositionKey()}) so every search in the JVM can
+ * share one.
+ * <p>
+ * Each entry is two longs in parallel arrays: the data, packing the best move,
+ * score, depth, bound and age, and the key XORed with the data. Threads read
+ * and write entries without locks. A write that races another can leave the
+ * key of one entry beside the data of another, but then the key no longer
+ * matches the data, so the probe treats it as a miss instead of returning a
+ * wrong result.
+ * <p>
+ * Entries sit in buckets of four. A new entry replaces the entry for the same
+ * position if there is one, and otherwise the entry that is shallowest and
+ * oldest, so deep results from the current search are kept longest.
+ * <p>
+ * Data layout:
+ * <ul>
+ * <li>bits 0-16: best move, packed with {@link Move}</li>
+ * <li>bits 17-32: score, as a signed 16-bit value</li>
+ * <li>bits 33-40: depth</li>
+ * <li>bits 41-42: bound</li>
+ * <li>bits 43-50: age, the search generation that stored it</li>
+ * </ul>
+ */
+public class TranspositionTable {
+
+    public static final int DEFAULT_MEGABYTES = 16;
+
+    public static final int UPPER_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT = 3;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_SIZE = 4;
+
+    private static final int MOVE_BITS = 17;
+    private static final int SCORE_SHIFT = 17;
+    private static final int DEPTH_SHIFT = 33;
+    private static final int BOUND_SHIFT = 41;
+    private static final int AGE_SHIFT = 43;
+
+    private static final TranspositionTable SHARED = new TranspositionTable(DEFAULT_MEGABYTES);
+
+    private final long[] keys;
+    private final long[] data;
+    private final int bucketMask;
+    private volatile int age;
+
+    /**
+     * @param megabytes how much memory the table may use, rounded down to a power of two entries
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > 1 << 14) {
+            throw new IllegalArgumentException("Error: Transposition table size must be between 1 and 16384 MB");
+        }
+        int entries = Integer.highestOneBit((int) Math.min((long) megabytes * (1 << 20) / ENTRY_BYTES, 1 << 30));
+        this.keys = new long[entries];
+        this.data = new long[entries];
+        this.bucketMask = entries / BUCKET_SIZE - 1;
+    }
+
+    /**
+     * @return the table shared by searches that are not given their own
+     */
+    public static TranspositionTable getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Looks up a position
+     *
+     * @param positionKey the position's key
+     * @return the entry's data, to be read with the static accessors, or 0 if the
+     * position is not in the table
+     */
+    public long probe(long positionKey) {
+        int bucket = bucketOf(positionKey);
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            long entry = data[i];
+            if ((keys[i] ^ entry) == positionKey && entry != 0) {
+                return entry;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stores a search result for a position
+     *
+     * @param positionKey the position's key
+     * @param move        the best move found, or {@link Move#NONE}
+     * @param score       the score, already adjusted with {@link #scoreToTable}
+     * @param depth       the depth searched
+     * @param bound       whether the score is exact or an upper or lower bound
+     */
+    public void store(long positionKey, int move, int score, int depth, int bound) {
+        int bucket = bucketOf(positionKey);
+        int currentAge = age;
+        int replace = bucket;
+        int replaceWorth = Integer.MAX_VALUE;
+
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            long entry = data[i];
+            if (entry == 0 || (keys[i] ^ entry) == positionKey) {
+                // Keep the old move if this search did not find one
+                if (move == Move.NONE && entry != 0) {
+                    move = move(entry);
+                }
+                replace = i;
+                break;
+            }
+            // Each search generation of age counts for as much as 4 plies of depth
+            int worth = depth(entry) - 4 * ((currentAge - age(entry)) & 0xFF);
+            if (worth < replaceWorth) {
+                replace = i;
+                replaceWorth = worth;
+            }
+        }
+
+        long entry = (move & ((1L << MOVE_BITS) - 1))
+                     | ((long) (score & 0xFFFF) << SCORE_SHIFT)
+                     | ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT)
+                     | ((long) bound << BOUND_SHIFT)
+                     | ((long) currentAge << AGE_SHIFT);
+        data[replace] = entry;
+        keys[replace] = positionKey ^ entry;
+    }
+
+    /**
+     * Starts a new search generation, so entries from earlier searches are
+     * replaced first
+     */
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(data, 0);
+    }
+
+    /**
+     * @return the number of entries the table can hold
+     */
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * Estimates how full the table is from a sample of its first entries
+     *
+     * @return entries in use from the current generation, per thousand
+     */
+    public int hashfull() {
+        int sample = Math.min(1000, data.length);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (data[i] != 0 && age(data[i]) == age) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    private int bucketOf(long positionKey) {
+        return ((int) (positionKey ^ (positionKey >>> 32)) & bucketMask) * BUCKET_SIZE;
+    }
+
+    public static int move(long entry) {
+        return (int) (entry & ((1L << MOVE_BITS) - 1));
+    }
+
+    public static int score(long entry) {
+        return (short) (entry >>> SCORE_SHIFT);
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int age(long entry) {
+        return (int) (entry >>> AGE_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Mate scores count plies from the root, but an entry can be reached at any
+     * ply, so they are stored counting from the entry's own position instead
+     */
+    public static int scoreToTable(int score, int ply) {
+        if (score >= Search.MATE - SearchLimits.MAX_DEPTH * 2) {
+            return score + ply;
+        }
+        if (score <= -Search.MATE + SearchLimits.MAX_DEPTH * 2) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    public static int scoreFromTable(int score, int ply) {
+        if (score >= Search.MATE - SearchLimits.MAX_DEPTH * 2) {
+            return score - ply;
+        }
+        if (score <= -Search.MATE + SearchLimits.MAX_DEPTH * 2) {
+            return score + ply;
+        }
+        return score;
+    }
+}
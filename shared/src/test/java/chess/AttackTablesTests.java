@@ -0,0 +1,98 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+public class AttackTablesTests {
+
+    @Test
+    @DisplayName("Knight, king and pawn tables match stepping off each square")
+    public void leaperTables() {
+        int[][] knightSteps = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+        int[][] kingSteps = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+
+        for (int square = 0; square < 64; square++) {
+            Assertions.assertEquals(steps(square, knightSteps), AttackTables.knightAttacks(square), "Knight on " + square);
+            Assertions.assertEquals(steps(square, kingSteps), AttackTables.kingAttacks(square), "King on " + square);
+            Assertions.assertEquals(steps(square, new int[][]{{1, -1}, {1, 1}}),
+                                    AttackTables.pawnAttacks(BitBoard.WHITE, square), "White pawn on " + square);
+            Assertions.assertEquals(steps(square, new int[][]{{-1, -1}, {-1, 1}}),
+                                    AttackTables.pawnAttacks(BitBoard.BLACK, square), "Black pawn on " + square);
+        }
+    }
+
+    @Test
+    @DisplayName("Pawns push forward, and twice only from their starting rank")
+    public void pawnPushes() {
+        int e2 = BitBoard.square(2, 5);
+        int e7 = BitBoard.square(7, 5);
+
+        Assertions.assertEquals(1L << BitBoard.square(3, 5), AttackTables.pawnPushes(BitBoard.WHITE, e2));
+        Assertions.assertEquals(1L << BitBoard.square(4, 5), AttackTables.pawnDoublePushes(BitBoard.WHITE, e2));
+        Assertions.assertEquals(1L << BitBoard.square(5, 5), AttackTables.pawnDoublePushes(BitBoard.BLACK, e7));
+        Assertions.assertEquals(0L, AttackTables.pawnDoublePushes(BitBoard.WHITE, e7));
+        Assertions.assertEquals(0L, AttackTables.pawnPushes(BitBoard.WHITE, BitBoard.square(8, 5)));
+    }
+
+    @Test
+    @DisplayName("Between holds the squares strictly between aligned squares")
+    public void between() {
+        int a1 = BitBoard.square(1, 1);
+        int h8 = BitBoard.square(8, 8);
+        int a4 = BitBoard.square(4, 1);
+        int e1 = BitBoard.square(1, 5);
+
+        Assertions.assertEquals(0x0040201008040200L, AttackTables.between(a1, h8));
+        Assertions.assertEquals(AttackTables.between(a1, h8), AttackTables.between(h8, a1));
+        Assertions.assertEquals((1L << BitBoard.square(2, 1)) | (1L << BitBoard.square(3, 1)), AttackTables.between(a1, a4));
+        Assertions.assertEquals(0x0EL, AttackTables.between(a1, e1));
+        Assertions.assertEquals(0L, AttackTables.between(a1, BitBoard.square(1, 2)));
+        Assertions.assertEquals(0L, AttackTables.between(a1, BitBoard.square(2, 3)));
+        Assertions.assertEquals(0L, AttackTables.between(a1, a1));
+    }
+
+    @Test
+    @DisplayName("Line holds the whole rank, file or diagonal through aligned squares")
+    public void line() {
+        int a1 = BitBoard.square(1, 1);
+        int c3 = BitBoard.square(3, 3);
+        int e4 = BitBoard.square(4, 5);
+
+        Assertions.assertEquals(0x8040201008040201L, AttackTables.line(a1, c3));
+        Assertions.assertEquals(0x8040201008040201L, AttackTables.line(c3, BitBoard.square(8, 8)));
+        Assertions.assertEquals(0x00000000FF000000L, AttackTables.line(e4, BitBoard.square(4, 1)));
+        Assertions.assertEquals(0x1010101010101010L, AttackTables.line(e4, BitBoard.square(1, 5)));
+        Assertions.assertEquals(0L, AttackTables.line(a1, e4));
+    }
+
+    @Test
+    @DisplayName("Between and line agree for every pair of squares")
+    public void betweenWithinLine() {
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                long between = AttackTables.between(from, to);
+                long line = AttackTables.line(from, to);
+                long ends = (1L << from) | (1L << to);
+                if (line == 0) {
+                    Assertions.assertEquals(0L, between);
+                    continue;
+                }
+                Assertions.assertEquals(ends, line & ends);
+                Assertions.assertEquals(0L, between & ~line);
+                Assertions.assertEquals(0L, between & ends);
+                Assertions.assertEquals(AttackTables.line(to, from), line);
+            }
+        }
+    }
+
+    private static long steps(int square, int[][] steps) {
+        long attacks = 0;
+        for (int[] step : steps) {
+            int row = BitBoard.rowOf(square) + step[0];
+            int col = BitBoard.colOf(square) + step[1];
+            if (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
+                attacks |= 1L << BitBoard.square(row, col);
+            }
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,238 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+public class BitBoardTests {
+
+    @Test
+    @DisplayName("Bitboards mirror the pieces on a ChessBoard")
+    public void mirrorsChessBoard() {
+        ChessBoard chessBoard = new ChessBoard();
+        chessBoard.resetBoard();
+        BitBoard board = chessBoard.getBitBoard();
+
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = chessBoard.getPiece(new ChessPosition(row, col));
+                int square = BitBoard.square(row, col);
+                Assertions.assertEquals(piece == null ? BitBoard.EMPTY : BitBoard.pieceIndex(piece), board.pieceAt(square));
+                Assertions.assertEquals(piece != null, (board.getOccupied() & (1L << square)) != 0);
+            }
+        }
+        Assertions.assertEquals(0x000000000000FFFFL, board.getOccupancy(BitBoard.WHITE));
+        Assertions.assertEquals(0xFFFF000000000000L, board.getOccupancy(BitBoard.BLACK));
+        Assertions.assertEquals(0x000000000000FF00L, board.getPieces(BitBoard.WHITE, BitBoard.PAWN));
+        Assertions.assertEquals(0x2400000000000000L, board.getPieces(BitBoard.BLACK, BitBoard.BISHOP));
+    }
+
+    @Test
+    @DisplayName("Setting and clearing squares updates every bitboard")
+    public void setAndClear() {
+        BitBoard board = new BitBoard();
+        int queen = BitBoard.pieceIndex(BitBoard.BLACK, BitBoard.QUEEN);
+        int square = BitBoard.square(4, 5);
+
+        board.setPiece(square, queen);
+        Assertions.assertEquals(queen, board.pieceAt(square));
+        Assertions.assertEquals(1L << square, board.getPieces(queen));
+        Assertions.assertEquals(1L << square, board.getOccupancy(BitBoard.BLACK));
+        Assertions.assertEquals(0L, board.getOccupancy(BitBoard.WHITE));
+
+        board.clearSquare(square);
+        Assertions.assertEquals(BitBoard.EMPTY, board.pieceAt(square));
+        Assertions.assertEquals(0L, board.getOccupied());
+        Assertions.assertEquals(new BitBoard(), board);
+    }
+
+    @Test
+    @DisplayName("Copied bitboard is independent of the original")
+    public void copyIsIndependent() {
+        ChessBoard chessBoard = new ChessBoard();
+        chessBoard.resetBoard();
+        BitBoard original = chessBoard.getBitBoard();
+        BitBoard copy = new BitBoard(original);
+
+        Assertions.assertEquals(original, copy);
+        copy.clearSquare(BitBoard.square(1, 5));
+
+        Assertions.assertNotEquals(original, copy);
+        Assertions.assertEquals(BitBoard.pieceIndex(BitBoard.WHITE, BitBoard.KING), original.pieceAt(BitBoard.square(1, 5)));
+    }
+
+    @Test
+    @DisplayName("Unmaking a capture puts the captured piece back")
+    public void unmakeRestoresCapture() {
+        BitBoard board = ChessGame.fromFen("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1").getBoard().getBitBoard();
+        BitBoard before = new BitBoard(board);
+        int d1 = BitBoard.square(1, 4);
+        int d5 = BitBoard.square(5, 4);
+
+        board.makeMove(Move.encode(d1, d5) | Move.CAPTURE);
+        Assertions.assertEquals(BitBoard.pieceIndex(BitBoard.WHITE, BitBoard.ROOK), board.pieceAt(d5));
+        Assertions.assertEquals(0L, board.getPieces(BitBoard.BLACK, BitBoard.QUEEN));
+
+        board.unmakeMove();
+        Assertions.assertEquals(before, board);
+        Assertions.assertEquals(before.getZobristKey(), board.getZobristKey());
+        Assertions.assertEquals(BitBoard.pieceIndex(BitBoard.BLACK, BitBoard.QUEEN), board.pieceAt(d5));
+    }
+
+    @Test
+    @DisplayName("Unmaking a promotion puts the pawn back")
+    public void unmakeRestoresPromotion() {
+        BitBoard board = ChessGame.fromFen("1n2k3/P7/8/8/8/8/8/4K3 w - - 0 1").getBoard().getBitBoard();
+        BitBoard before = new BitBoard(board);
+        int a7 = BitBoard.square(7, 1);
+        int b8 = BitBoard.square(8, 2);
+
+        board.makeMove(Move.encode(a7, b8, BitBoard.KNIGHT, Move.CAPTURE));
+        Assertions.assertEquals(BitBoard.pieceIndex(BitBoard.WHITE, BitBoard.KNIGHT), board.pieceAt(b8));
+        Assertions.assertEquals(BitBoard.EMPTY, board.pieceAt(a7));
+
+        board.unmakeMove();
+        Assertions.assertEquals(before, board);
+    }
+
+    @Test
+    @DisplayName("Unmaking moves restores castling rights")
+    public void unmakeRestoresCastlingRights() {
+        BitBoard board = ChessGame.fromFen("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1").getBoard().getBitBoard();
+        int a1 = BitBoard.square(1, 1);
+        int a8 = BitBoard.square(8, 1);
+        int e8 = BitBoard.square(8, 5);
+
+        board.makeMove(Move.encode(a1, a8) | Move.CAPTURE);
+        Assertions.assertEquals(BitBoard.WHITE_KINGSIDE | BitBoard.BLACK_KINGSIDE, board.getCastlingRights());
+        board.makeMove(Move.encode(e8, BitBoard.square(7, 5)));
+        Assertions.assertEquals(BitBoard.WHITE_KINGSIDE, board.getCastlingRights());
+
+        board.unmakeMove();
+        Assertions.assertEquals(BitBoard.WHITE_KINGSIDE | BitBoard.BLACK_KINGSIDE, board.getCastlingRights());
+        board.unmakeMove();
+        Assertions.assertEquals(BitBoard.ALL_CASTLING, board.getCastlingRights());
+        Assertions.assertEquals(BitBoard.pieceIndex(BitBoard.BLACK, BitBoard.ROOK), board.pieceAt(a8));
+    }
+
+    @Test
+    @DisplayName("Random make/unmake sequences leave the board as it was")
+    public void makeUnmakeRoundTrip() {
+        Random random = new Random(4);
+        BitBoard board = ChessGame.fromFen("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1")
+                .getBoard().getBitBoard();
+        BitBoard start = new BitBoard(board);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int color = BitBoard.WHITE;
+
+        int made = 0;
+        for (; made < 300; made++) {
+            int count = MoveGenerator.generateLegalMoves(board, color, moves, 0);
+            if (count == 0) {
+                break;
+            }
+            board.makeMove(moves[random.nextInt(count)]);
+            color ^= 1;
+        }
+        for (int i = 0; i < made; i++) {
+            board.unmakeMove();
+        }
+
+        Assertions.assertEquals(start, board);
+        Assertions.assertEquals(start.getCastlingRights(), board.getCastlingRights());
+        Assertions.assertEquals(start.getZobristKey(), board.getZobristKey());
+    }
+
+    @Test
+    @DisplayName("Square attacks are found for every kind of attacker")
+    public void squareAttacked() {
+        // White: Kb1, Qh1, Nc3, Pe4; black: Ke8, Rd8, Bb4, pg5
+        BitBoard board = ChessGame.fromFen("3rk3/8/8/6p1/1b2P3/2N5/8/1K5Q w - - 0 1").getBoard().getBitBoard();
+        int d5 = BitBoard.square(5, 4);
+        int f5 = BitBoard.square(5, 6);
+        int a8 = BitBoard.square(8, 1);
+
+        Assertions.assertTrue(board.isSquareAttacked(d5, BitBoard.WHITE)); // e4 pawn and c3 knight
+        Assertions.assertTrue(board.isSquareAttacked(d5, BitBoard.BLACK)); // d8 rook
+        Assertions.assertTrue(board.isSquareAttacked(f5, BitBoard.WHITE)); // e4 pawn
+        Assertions.assertFalse(board.isSquareAttacked(f5, BitBoard.BLACK));
+        Assertions.assertTrue(board.isSquareAttacked(BitBoard.square(3, 6), BitBoard.WHITE)); // h1 queen
+        Assertions.assertFalse(board.isSquareAttacked(a8, BitBoard.WHITE)); // The queen is blocked by e4
+        Assertions.assertTrue(board.isSquareAttacked(BitBoard.square(4, 8), BitBoard.BLACK)); // g5 pawn
+        Assertions.assertTrue(board.isSquareAttacked(BitBoard.square(3, 3), BitBoard.BLACK)); // b4 bishop
+        Assertions.assertTrue(board.isSquareAttacked(BitBoard.square(2, 1), BitBoard.WHITE)); // b1 king
+
+        Assertions.assertEquals((1L << BitBoard.square(4, 5)) | (1L << BitBoard.square(3, 3)),
+                                board.attackersOf(d5, BitBoard.WHITE));
+        Assertions.assertEquals(1L << BitBoard.square(8, 4), board.attackersOf(d5, BitBoard.BLACK));
+    }
+
+    @Test
+    @DisplayName("Blocked sliders do not attack, unless the blocker is lifted")
+    public void blockedSliders() {
+        BitBoard board = ChessGame.fromFen("4k3/8/8/8/4n3/8/8/4R2K w - - 0 1").getBoard().getBitBoard();
+        int e8 = BitBoard.square(8, 5);
+        int e4 = BitBoard.square(4, 5);
+
+        Assertions.assertFalse(board.isSquareAttacked(e8, BitBoard.WHITE));
+        Assertions.assertFalse(board.isInCheck(BitBoard.BLACK));
+        Assertions.assertTrue(board.isSquareAttacked(e8, BitBoard.WHITE, board.getOccupied() & ~(1L << e4)));
+        Assertions.assertEquals(1L << BitBoard.square(1, 5), board.attackersOf(e8, board.getOccupied() & ~(1L << e4)));
+    }
+
+    @Test
+    @DisplayName("Attack queries agree with each other in random positions")
+    public void attackQueriesAgree() {
+        Random random = new Random(5);
+        BitBoard board = ChessGame.fromFen("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1")
+                .getBoard().getBitBoard();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int color = BitBoard.WHITE;
+
+        for (int ply = 0; ply < 100; ply++) {
+            for (int square = 0; square < 64; square++) {
+                long white = board.attackersOf(square, BitBoard.WHITE);
+                long black = board.attackersOf(square, BitBoard.BLACK);
+                Assertions.assertEquals(white != 0, board.isSquareAttacked(square, BitBoard.WHITE));
+                Assertions.assertEquals(black != 0, board.isSquareAttacked(square, BitBoard.BLACK));
+                Assertions.assertEquals(white | black, board.attackersOf(square, board.getOccupied()));
+                Assertions.assertEquals(0L, white & ~board.getOccupancy(BitBoard.WHITE));
+                Assertions.assertEquals(0L, black & ~board.getOccupancy(BitBoard.BLACK));
+            }
+
+            int count = MoveGenerator.generateLegalMoves(board, color, moves, 0);
+            if (count == 0) {
+                break;
+            }
+            board.makeMove(moves[random.nextInt(count)]);
+            color ^= 1;
+        }
+    }
+
+    @Test
+    @DisplayName("King squares follow kings as they are added, moved and removed")
+    public void kingSquares() {
+        ChessBoard chessBoard = new ChessBoard();
+        BitBoard board = chessBoard.getBitBoard();
+        Assertions.assertEquals(BitBoard.NO_SQUARE, board.getKingSquare(BitBoard.WHITE));
+        Assertions.assertNull(chessBoard.getKingPosition(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(chessBoard.kingExists());
+
+        chessBoard.resetBoard();
+        Assertions.assertEquals(BitBoard.square(1, 5), board.getKingSquare(BitBoard.WHITE));
+        Assertions.assertEquals(new ChessPosition(8, 5), chessBoard.getKingPosition(ChessGame.TeamColor.BLACK));
+
+        chessBoard.movePiece(new ChessMove(new ChessPosition(1, 5), new ChessPosition(4, 4), null));
+        Assertions.assertEquals(BitBoard.square(4, 4), board.getKingSquare(BitBoard.WHITE));
+
+        board.makeMove(Move.encode(BitBoard.square(8, 5), BitBoard.square(7, 6)));
+        Assertions.assertEquals(BitBoard.square(7, 6), board.getKingSquare(BitBoard.BLACK));
+        board.unmakeMove();
+        Assertions.assertEquals(BitBoard.square(8, 5), board.getKingSquare(BitBoard.BLACK));
+
+        chessBoard.addPiece(new ChessPosition(4, 4), null);
+        Assertions.assertEquals(BitBoard.NO_SQUARE, board.getKingSquare(BitBoard.WHITE));
+        Assertions.assertFalse(board.isInCheck(BitBoard.WHITE));
+        Assertions.assertTrue(chessBoard.kingExists());
+    }
+}
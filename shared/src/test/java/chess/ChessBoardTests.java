@@ -0,0 +1,80 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.*;
+
+public class ChessBoardTests {
+
+    // A board as Gson wrote it before the board was backed by bitboards: white king e1 and rook h1, black king e8
+    private static final String BASELINE_BOARD = "{\"squares\":["
+            + "[null,null,null,null,{\"pieceType\":\"KING\",\"teamColor\":\"WHITE\",\"hasMoved\":false},null,null,"
+            + "{\"pieceType\":\"ROOK\",\"teamColor\":\"WHITE\",\"hasMoved\":false}],"
+            + "[null,null,null,null,null,null,null,null],[null,null,null,null,null,null,null,null],"
+            + "[null,null,null,null,null,null,null,null],[null,null,null,null,null,null,null,null],"
+            + "[null,null,null,null,null,null,null,null],[null,null,null,null,null,null,null,null],"
+            + "[null,null,null,null,{\"pieceType\":\"KING\",\"teamColor\":\"BLACK\",\"hasMoved\":true},null,null,null]]}";
+
+    @Test
+    @DisplayName("Gson writes a board as its grid of squares")
+    public void gsonFormat() {
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+
+        String json = new Gson().toJson(board);
+
+        Assertions.assertTrue(json.startsWith("{\"squares\":[[{\"pieceType\":\"ROOK\",\"teamColor\":\"WHITE\"}"), json);
+        Assertions.assertTrue(json.contains("[null,null,null,null,null,null,null,null]"), json);
+        Assertions.assertFalse(json.contains("zobristKey"), json);
+        Assertions.assertFalse(json.contains("bitBoard"), json);
+    }
+
+    @Test
+    @DisplayName("Board and game survive a Gson round trip")
+    public void gsonRoundTrip() {
+        Gson gson = new Gson();
+        ChessGame game = ChessGame.fromFen("r3k2r/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 b kq - 3 10");
+
+        ChessGame copy = gson.fromJson(gson.toJson(game), ChessGame.class);
+
+        Assertions.assertEquals(game.toFen(), copy.toFen());
+        Assertions.assertEquals(game.getPositionKey(), copy.getPositionKey());
+        Assertions.assertEquals(game.getBoard().getBitBoard().getMiddlegameScore(),
+                                copy.getBoard().getBitBoard().getMiddlegameScore());
+        Assertions.assertEquals(game.getBoard().getKingPosition(ChessGame.TeamColor.WHITE),
+                                copy.getBoard().getKingPosition(ChessGame.TeamColor.WHITE));
+        Assertions.assertEquals(game.allValidMoves(), copy.allValidMoves());
+    }
+
+    @Test
+    @DisplayName("Board JSON from before bitboards still reads")
+    public void baselineJson() {
+        ChessBoard board = new Gson().fromJson(BASELINE_BOARD, ChessBoard.class);
+
+        Assertions.assertEquals("4k3/8/8/8/8/8/8/4K2R", board.toFen());
+        Assertions.assertEquals(ChessPiece.WHITE_ROOK, board.getPiece(new ChessPosition(1, 8)));
+        Assertions.assertEquals(new ChessPosition(8, 5), board.getKingPosition(ChessGame.TeamColor.BLACK));
+        // Worked out from the pieces still on their starting squares
+        Assertions.assertEquals(BitBoard.WHITE_KINGSIDE, board.getBitBoard().getCastlingRights());
+        Assertions.assertEquals(ChessBoard.fromFen("4k3/8/8/8/8/8/8/4K2R"), board);
+    }
+
+    @Test
+    @DisplayName("Copied board is independent of the original")
+    public void copyIsIndependent() {
+        ChessBoard original = new ChessBoard();
+        original.resetBoard();
+        String fen = original.toFen();
+
+        for (ChessBoard copy : new ChessBoard[]{new ChessBoard(original), original.clone()}) {
+            Assertions.assertEquals(original, copy);
+            Assertions.assertNotSame(original.getBitBoard(), copy.getBitBoard());
+
+            copy.movePiece(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+            copy.addPiece(new ChessPosition(1, 1), null);
+
+            Assertions.assertNotEquals(original, copy);
+            Assertions.assertEquals(fen, original.toFen());
+            Assertions.assertEquals(BitBoard.ALL_CASTLING, original.getBitBoard().getCastlingRights());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrentReadTests {
+
+    private static final int READERS = 3;
+    private static final int ROUNDS = 20_000;
+
+    @Test
+    @DisplayName("Readers see an unchanged game while a move into check is rejected")
+    public void readWhileRejecting() throws Exception {
+        // The bishop on e2 is pinned to its king by the rook on e8
+        ChessGame game = ChessGame.fromFen("4r1k1/8/8/8/8/8/4B3/4K3 w - - 0 1");
+        ChessMove pinnedMove = new ChessMove(new ChessPosition(2, 5), new ChessPosition(3, 4), null);
+        ChessPosition king = new ChessPosition(1, 5);
+        ChessPosition bishop = new ChessPosition(2, 5);
+        String fen = game.toFen();
+        Collection<ChessMove> kingMoves = game.validMoves(king);
+
+        ExecutorService pool = Executors.newFixedThreadPool(READERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        Assertions.assertFalse(game.isInCheck(ChessGame.TeamColor.WHITE));
+                        Assertions.assertEquals(kingMoves, game.validMoves(king));
+                        Assertions.assertTrue(game.validMoves(bishop).stream()
+                                                      .allMatch(move -> move.getEndPosition().getColumn() == 5));
+                        Assertions.assertEquals(fen, game.toFen());
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (int round = 0; round < ROUNDS; round++) {
+                InvalidMoveException e = Assertions.assertThrows(InvalidMoveException.class,
+                                                                 () -> game.makeMove(pinnedMove));
+                Assertions.assertEquals("Error: Cannot put own king in check", e.getMessage());
+            }
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Assertions.assertEquals(fen, game.toFen());
+    }
+
+    @Test
+    @DisplayName("Threads sharing one game all read the same moves and state")
+    public void sharedReaders() throws Exception {
+        ChessGame game = ChessGame.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+        Gson gson = new Gson();
+        String json = gson.toJson(game);
+        Collection<ChessMove> moves = game.allValidMoves();
+        GameStatus status = game.getGameStatus();
+
+        ExecutorService pool = Executors.newFixedThreadPool(READERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS / 10; round++) {
+                        // Emptying the shared cache makes readers generate the moves at the same time
+                        LegalMoveCache.getShared().clear();
+                        Assertions.assertEquals(moves, game.allValidMoves());
+                        Assertions.assertEquals(status, game.getGameStatus());
+                        Assertions.assertEquals(json, gson.toJson(game));
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
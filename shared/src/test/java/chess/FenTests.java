@@ -0,0 +1,59 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+public class FenTests {
+
+    @Test
+    @DisplayName("New game writes the starting FEN")
+    public void startPosition() {
+        Assertions.assertEquals(Fen.START, new ChessGame().toFen());
+        Assertions.assertEquals(new ChessGame(), ChessGame.fromFen(Fen.START));
+    }
+
+    @Test
+    @DisplayName("FEN survives a round trip")
+    public void roundTrip() {
+        String fen = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 b Kq - 3 10";
+        ChessGame game = ChessGame.fromFen(fen);
+
+        Assertions.assertEquals(fen, game.toFen());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+        Assertions.assertEquals(3, game.getHalfmoveClock());
+        Assertions.assertEquals(10, game.getFullmoveNumber());
+        Assertions.assertEquals("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1",
+                                game.getBoard().toFen());
+    }
+
+    @Test
+    @DisplayName("Moves update castling rights and clocks")
+    public void movesUpdateFen() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+
+        game.makeMove(new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null));
+        Assertions.assertEquals("rnbqkbnr/pppppppp/8/8/8/5N2/PPPPPPPP/RNBQKB1R b KQkq - 1 1", game.toFen());
+
+        game.makeMove(new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(1, 8), new ChessPosition(1, 7), null));
+        Assertions.assertEquals("rnbqkbnr/pppp1ppp/8/4p3/8/5N2/PPPPPPPP/RNBQKBR1 b Qkq - 1 2", game.toFen());
+    }
+
+    @Test
+    @DisplayName("Short FEN defaults the optional fields")
+    public void optionalFields() {
+        ChessGame game = ChessGame.fromFen("7k/8/8/8/8/8/8/K7 w");
+
+        Assertions.assertEquals("7k/8/8/8/8/8/8/K7 w - - 0 1", game.toFen());
+    }
+
+    @Test
+    @DisplayName("Invalid FEN is rejected")
+    public void invalidFen() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ChessGame.fromFen(""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ChessGame.fromFen("8/8/8/8/8/8/8 w - - 0 1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ChessGame.fromFen("9/8/8/8/8/8/8/8 w - - 0 1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ChessGame.fromFen("8/8/8/8/8/8/8/7x w - - 0 1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ChessGame.fromFen("8/8/8/8/8/8/8/8 x - - 0 1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ChessGame.fromFen("8/8/8/8/8/8/8/8 w - - a 1"));
+    }
+}
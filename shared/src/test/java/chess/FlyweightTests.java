@@ -0,0 +1,75 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+public class FlyweightTests {
+
+    @Test
+    @DisplayName("Positions on the board are shared instances")
+    public void sharedPositions() {
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPosition position = ChessPosition.of(row, col);
+                Assertions.assertSame(position, ChessPosition.of(row, col));
+                Assertions.assertSame(position, ChessPosition.of(BitBoard.square(row, col)));
+                Assertions.assertEquals(new ChessPosition(row, col), position);
+                Assertions.assertEquals(row, position.getRow());
+                Assertions.assertEquals(col, position.getColumn());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Positions off the board are still created")
+    public void positionsOffBoard() {
+        ChessPosition position = ChessPosition.of(0, 9);
+
+        Assertions.assertEquals(0, position.getRow());
+        Assertions.assertEquals(9, position.getColumn());
+        Assertions.assertNotSame(position, ChessPosition.of(0, 9));
+    }
+
+    @Test
+    @DisplayName("Moves are shared instances, including promotions")
+    public void sharedMoves() {
+        ChessPosition a7 = ChessPosition.of(7, 1);
+        ChessPosition a8 = ChessPosition.of(8, 1);
+
+        ChessMove move = ChessMove.of(a7, a8, null);
+        Assertions.assertSame(move, ChessMove.of(a7, a8, null));
+        Assertions.assertSame(move, ChessMove.of(new ChessPosition(7, 1), new ChessPosition(8, 1), null));
+        Assertions.assertEquals(new ChessMove(a7, a8, null), move);
+
+        for (ChessPiece.PieceType promotion : new ChessPiece.PieceType[]{
+                ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.ROOK,
+                ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT}) {
+            ChessMove promotionMove = ChessMove.of(a7, a8, promotion);
+            Assertions.assertSame(promotionMove, ChessMove.of(a7, a8, promotion));
+            Assertions.assertEquals(promotion, promotionMove.getPromotionPiece());
+            Assertions.assertNotEquals(move, promotionMove);
+        }
+    }
+
+    @Test
+    @DisplayName("Packed moves convert to the shared move instances")
+    public void packedMoves() {
+        ChessMove move = ChessMove.of(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        int packed = Move.fromChessMove(move);
+
+        Assertions.assertSame(move, Move.toChessMove(packed));
+        Assertions.assertSame(move, Move.toChessMove(packed | Move.DOUBLE_PAWN_PUSH));
+    }
+
+    @Test
+    @DisplayName("Moves that cannot be shared are still created")
+    public void movesNotShared() {
+        ChessPosition a7 = ChessPosition.of(7, 1);
+        ChessPosition a8 = ChessPosition.of(8, 1);
+
+        ChessMove kingPromotion = ChessMove.of(a7, a8, ChessPiece.PieceType.KING);
+        Assertions.assertEquals(ChessPiece.PieceType.KING, kingPromotion.getPromotionPiece());
+
+        ChessMove offBoard = ChessMove.of(a8, new ChessPosition(9, 1), null);
+        Assertions.assertEquals(new ChessPosition(9, 1), offBoard.getEndPosition());
+    }
+}
@@ -0,0 +1,58 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+
+public class GameCodecTests {
+
+    @Test
+    @DisplayName("Starting position packs into 28 bytes")
+    public void startPosition() {
+        ChessGame game = new ChessGame();
+
+        byte[] bytes = GameCodec.encode(game);
+
+        Assertions.assertEquals(28, bytes.length);
+        Assertions.assertEquals(Fen.START, GameCodec.decode(bytes).toFen());
+    }
+
+    @Test
+    @DisplayName("Game state survives a round trip")
+    public void roundTrip() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 b Kq - 300 1000");
+        game.setWinner(ChessGame.TeamColor.WHITE);
+
+        ChessGame decoded = GameCodec.decodeString(GameCodec.encodeToString(game));
+
+        Assertions.assertEquals(game, decoded);
+        Assertions.assertEquals(game.toFen(), decoded.toFen());
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, decoded.getWinner());
+        Assertions.assertFalse(decoded.isDraw());
+    }
+
+    @Test
+    @DisplayName("Stalemate is kept as a draw")
+    public void draw() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("7k/8/5K2/6Q1/8/8/8/8 w - - 0 1");
+        game.makeMove(new ChessMove(new ChessPosition(5, 7), new ChessPosition(6, 7), null));
+
+        ChessGame decoded = GameCodec.decode(GameCodec.encode(game));
+
+        Assertions.assertTrue(decoded.isDraw());
+        Assertions.assertNull(decoded.getWinner());
+    }
+
+    @Test
+    @DisplayName("Unknown versions and truncated data are rejected")
+    public void invalidData() {
+        byte[] bytes = GameCodec.encode(new ChessGame());
+
+        byte[] wrongVersion = bytes.clone();
+        wrongVersion[0] = 99;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(wrongVersion));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> GameCodec.decode(Arrays.copyOf(bytes, bytes.length - 2)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(new byte[3]));
+    }
+}
@@ -0,0 +1,47 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+public class GameRecordTests {
+
+    private static final int[][] MOVES = {
+            {2, 5, 4, 5}, {7, 5, 5, 5}, {1, 7, 3, 6}, {8, 2, 6, 3}, {1, 6, 4, 3},
+            {8, 7, 6, 6}, {3, 6, 5, 7}, {7, 4, 5, 4}, {4, 5, 5, 4}, {6, 6, 5, 4}
+    };
+
+    @Test
+    @DisplayName("Replay rebuilds every ply")
+    public void replayEveryPly() throws InvalidMoveException {
+        GameRecord record = new GameRecord(new ChessGame(), 3);
+        ChessGame expected = new ChessGame();
+        String[] fens = new String[MOVES.length + 1];
+        fens[0] = expected.toFen();
+
+        for (int i = 0; i < MOVES.length; i++) {
+            ChessMove move = move(MOVES[i]);
+            record.append(move);
+            expected.makeMove(move);
+            fens[i + 1] = expected.toFen();
+        }
+
+        Assertions.assertEquals(MOVES.length, record.getPlyCount());
+        Assertions.assertEquals(fens[MOVES.length], record.getGame().toFen());
+        for (int ply = 0; ply <= MOVES.length; ply++) {
+            Assertions.assertEquals(fens[ply], record.replay(ply).toFen(), "ply " + ply);
+        }
+        Assertions.assertEquals(move(MOVES[4]), record.getMove(4));
+    }
+
+    @Test
+    @DisplayName("Illegal moves are not recorded")
+    public void illegalMove() {
+        GameRecord record = new GameRecord();
+
+        Assertions.assertThrows(InvalidMoveException.class, () -> record.append(move(new int[]{2, 5, 5, 5})));
+        Assertions.assertEquals(0, record.getPlyCount());
+    }
+
+    private static ChessMove move(int[] squares) {
+        return new ChessMove(new ChessPosition(squares[0], squares[1]), new ChessPosition(squares[2], squares[3]), null);
+    }
+}
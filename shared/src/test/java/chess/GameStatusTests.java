@@ -0,0 +1,82 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+public class GameStatusTests {
+
+    @Test
+    @DisplayName("Checkmate is detected by the move that delivers it")
+    public void checkmateThroughMakeMove() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(new ChessPosition(2, 6), new ChessPosition(3, 6), null));
+        game.makeMove(new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(2, 7), new ChessPosition(4, 7), null));
+        Assertions.assertNull(game.getWinner());
+
+        game.makeMove(new ChessMove(new ChessPosition(8, 4), new ChessPosition(4, 8), null));
+
+        GameStatus status = game.getGameStatus();
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, status.teamColor());
+        Assertions.assertTrue(status.inCheck());
+        Assertions.assertTrue(status.checkmate());
+        Assertions.assertFalse(status.stalemate());
+        Assertions.assertEquals(0, status.legalMoveCount());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getWinner());
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(game.isDraw());
+    }
+
+    @Test
+    @DisplayName("Stalemate is detected by the move that causes it")
+    public void stalemateThroughMakeMove() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("k7/8/1Q6/8/8/8/8/K7 w - - 0 1");
+
+        game.makeMove(new ChessMove(new ChessPosition(6, 2), new ChessPosition(7, 3), null));
+
+        GameStatus status = game.getGameStatus();
+        Assertions.assertFalse(status.inCheck());
+        Assertions.assertFalse(status.checkmate());
+        Assertions.assertTrue(status.stalemate());
+        Assertions.assertTrue(game.isDraw());
+        Assertions.assertNull(game.getWinner());
+        Assertions.assertTrue(game.isInStalemate(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("Status is recomputed when the board or turn is replaced")
+    public void recomputedAfterChanges() {
+        ChessGame game = new ChessGame();
+        GameStatus start = game.getGameStatus();
+        Assertions.assertSame(start, game.getGameStatus());
+        Assertions.assertEquals(20, start.legalMoveCount());
+
+        game.setBoard(ChessBoard.fromFen("k7/2Q5/8/8/8/8/8/K7"));
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        GameStatus stalemate = game.getGameStatus();
+        Assertions.assertNotSame(start, stalemate);
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, stalemate.teamColor());
+        Assertions.assertEquals(game.getPositionKey(), stalemate.positionKey());
+        Assertions.assertTrue(stalemate.stalemate());
+
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+        GameStatus whiteToMove = game.getGameStatus();
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, whiteToMove.teamColor());
+        Assertions.assertFalse(whiteToMove.stalemate());
+        Assertions.assertTrue(whiteToMove.legalMoveCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Checkmate and stalemate are found for the team not to move")
+    public void teamNotToMove() {
+        ChessGame mated = ChessGame.fromFen("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR b KQkq - 1 3");
+        Assertions.assertTrue(mated.isInCheckmate(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(mated.isInStalemate(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(mated.isInCheckmate(ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(mated.getGameStatus().checkmate());
+
+        ChessGame stalemated = ChessGame.fromFen("k7/2Q5/8/8/8/8/8/K7 w - - 0 1");
+        Assertions.assertTrue(stalemated.isInStalemate(ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(stalemated.isInCheckmate(ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(stalemated.isInStalemate(ChessGame.TeamColor.WHITE));
+    }
+}
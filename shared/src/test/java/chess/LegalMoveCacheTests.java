@@ -0,0 +1,75 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+public class LegalMoveCacheTests {
+
+    @Test
+    @DisplayName("Oldest entry is evicted once the cache is full")
+    public void evictsAtCapacity() {
+        LegalMoveCache cache = new LegalMoveCache(3);
+        for (long key = 1; key <= 3; key++) {
+            cache.put(key, new int[]{(int) key});
+        }
+        Assertions.assertEquals(3, cache.size());
+
+        cache.put(4, new int[]{4});
+
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertNull(cache.get(1));
+        Assertions.assertArrayEquals(new int[]{4}, cache.get(4));
+    }
+
+    @Test
+    @DisplayName("Reading an entry keeps it over entries that were not read")
+    public void accessOrder() {
+        LegalMoveCache cache = new LegalMoveCache(3);
+        for (long key = 1; key <= 3; key++) {
+            cache.put(key, new int[]{(int) key});
+        }
+
+        cache.get(1);
+        cache.put(4, new int[]{4});
+
+        Assertions.assertNotNull(cache.get(1));
+        Assertions.assertNull(cache.get(2));
+        Assertions.assertNotNull(cache.get(3));
+        Assertions.assertNotNull(cache.get(4));
+    }
+
+    @Test
+    @DisplayName("Hits and misses are counted, and clear resets them")
+    public void counters() {
+        LegalMoveCache cache = new LegalMoveCache(LegalMoveCache.DEFAULT_CAPACITY);
+        int[] moves = {1, 2, 3};
+
+        Assertions.assertNull(cache.get(42));
+        cache.put(42, moves);
+        Assertions.assertSame(moves, cache.get(42));
+        Assertions.assertSame(moves, cache.get(42));
+        Assertions.assertNull(cache.get(43));
+
+        Assertions.assertEquals(2, cache.getHits());
+        Assertions.assertEquals(2, cache.getMisses());
+
+        cache.clear();
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.getHits());
+        Assertions.assertEquals(0, cache.getMisses());
+        Assertions.assertNull(cache.get(42));
+    }
+
+    @Test
+    @DisplayName("Games share cached moves for the same position")
+    public void sharedByGames() {
+        LegalMoveCache cache = LegalMoveCache.getShared();
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/8/R3K3 w - - 0 1");
+
+        game.allValidMoves();
+        Assertions.assertNotNull(cache.get(game.getPositionKey()));
+        long hits = cache.getHits();
+        ChessGame.fromFen("4k3/8/8/8/8/8/8/R3K3 w - - 7 30").allValidMoves();
+
+        Assertions.assertTrue(cache.getHits() > hits);
+    }
+}
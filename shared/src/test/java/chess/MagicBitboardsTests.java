@@ -0,0 +1,75 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+public class MagicBitboardsTests {
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    @Test
+    @DisplayName("Magic lookups match a ray scan for random occupancies")
+    public void matchesRayScan() {
+        Random random = new Random(2);
+
+        for (int square = 0; square < 64; square++) {
+            for (int i = 0; i < 200; i++) {
+                // Sparse and dense boards both, so rays end at every distance
+                long occupied = random.nextLong() & random.nextLong();
+                if (i % 2 == 0) {
+                    occupied |= random.nextLong();
+                }
+
+                Assertions.assertEquals(rayScan(square, occupied, ROOK_DIRECTIONS),
+                                        MagicBitboards.rookAttacks(square, occupied), "Rook on " + square);
+                Assertions.assertEquals(rayScan(square, occupied, BISHOP_DIRECTIONS),
+                                        MagicBitboards.bishopAttacks(square, occupied), "Bishop on " + square);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Queen attacks are rook and bishop attacks together")
+    public void queenAttacks() {
+        int d4 = BitBoard.square(4, 4);
+
+        Assertions.assertEquals(27, Long.bitCount(MagicBitboards.queenAttacks(d4, 0)));
+        Assertions.assertEquals(MagicBitboards.rookAttacks(d4, 0) | MagicBitboards.bishopAttacks(d4, 0),
+                                MagicBitboards.queenAttacks(d4, 0));
+        Assertions.assertEquals(14, Long.bitCount(MagicBitboards.rookAttacks(BitBoard.square(1, 1), 0)));
+        Assertions.assertEquals(7, Long.bitCount(MagicBitboards.bishopAttacks(BitBoard.square(1, 1), 0)));
+    }
+
+    @Test
+    @DisplayName("Blockers are attacked but stop the ray")
+    public void blockersStopRays() {
+        int a1 = BitBoard.square(1, 1);
+        long occupied = (1L << BitBoard.square(1, 3)) | (1L << BitBoard.square(1, 5));
+
+        long attacks = MagicBitboards.rookAttacks(a1, occupied);
+
+        Assertions.assertNotEquals(0L, attacks & (1L << BitBoard.square(1, 3)));
+        Assertions.assertEquals(0L, attacks & (1L << BitBoard.square(1, 4)));
+        Assertions.assertEquals(0L, attacks & (1L << BitBoard.square(1, 5)));
+    }
+
+    private static long rayScan(int square, long occupied, int[][] directions) {
+        long attacks = 0;
+        for (int[] direction : directions) {
+            int row = BitBoard.rowOf(square) + direction[0];
+            int col = BitBoard.colOf(square) + direction[1];
+            while (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
+                long bit = 1L << BitBoard.square(row, col);
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                row += direction[0];
+                col += direction[1];
+            }
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,101 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class MoveGeneratorTests {
+
+    @Test
+    @DisplayName("Capture mode writes exactly the legal captures and promotions")
+    public void capturesOnly() {
+        Random random = new Random(25);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int[] captures = new int[MoveGenerator.MAX_MOVES];
+
+        for (String fen : new String[]{
+                Fen.START,
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "4k3/1P6/8/3q4/4P3/8/6p1/R3K2R b - - 0 1"}) {
+            BitBoard board = ChessGame.fromFen(fen).getBoard().getBitBoard();
+            int color = fen.contains(" w ") ? BitBoard.WHITE : BitBoard.BLACK;
+
+            for (int ply = 0; ply < 60; ply++) {
+                int count = MoveGenerator.generateLegalMoves(board, color, moves, 0);
+                int captureCount = MoveGenerator.generateLegalCaptures(board, color, captures, 0);
+
+                int[] expected = Arrays.stream(moves, 0, count)
+                        .filter(move -> Move.isCapture(move) || Move.isPromotion(move)).sorted().toArray();
+                int[] actual = Arrays.stream(captures, 0, captureCount).sorted().toArray();
+                Assertions.assertArrayEquals(expected, actual, "Captures differ after " + ply + " plies of " + fen);
+
+                if (count == 0) {
+                    break;
+                }
+                board.makeMove(moves[random.nextInt(count)]);
+                color ^= 1;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Pseudo-legal moves match pieceMoves for every piece")
+    public void matchesPieceMoves() {
+        Random random = new Random(3);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+        for (String fen : new String[]{
+                Fen.START,
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"}) {
+            ChessGame game = ChessGame.fromFen(fen);
+            ChessBoard chessBoard = game.getBoard();
+            BitBoard board = chessBoard.getBitBoard();
+            int color = BitBoard.colorIndex(game.getTeamTurn());
+
+            for (int ply = 0; ply < 40; ply++) {
+                for (int square = 0; square < 64; square++) {
+                    ChessPiece piece = ChessPiece.of(board.pieceAt(square));
+                    if (piece == null) {
+                        continue;
+                    }
+                    int count = MoveGenerator.generatePieceMoves(board, square, moves, 0);
+                    Set<ChessMove> generated = new HashSet<>();
+                    for (int i = 0; i < count; i++) {
+                        generated.add(Move.toChessMove(moves[i]));
+                    }
+
+                    Assertions.assertEquals(new HashSet<>(piece.pieceMoves(chessBoard, ChessPosition.of(square))),
+                                            generated, "Moves differ for " + piece + " on " + square + " in " + chessBoard.toFen());
+                    Assertions.assertEquals(count, generated.size(), "Duplicate moves for " + piece + " on " + square);
+                }
+
+                int count = MoveGenerator.generateLegalMoves(board, color, moves, 0);
+                if (count == 0) {
+                    break;
+                }
+                board.makeMove(moves[random.nextInt(count)]);
+                color ^= 1;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Generator writes from the given index and leaves the rest of the buffer alone")
+    public void writesFromIndex() {
+        BitBoard board = new ChessGame().getBoard().getBitBoard();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        Arrays.fill(moves, -1);
+
+        int end = MoveGenerator.generateMoves(board, BitBoard.WHITE, moves, 10);
+
+        Assertions.assertEquals(30, end);
+        Assertions.assertTrue(Arrays.stream(moves, 0, 10).allMatch(move -> move == -1));
+        Assertions.assertTrue(Arrays.stream(moves, 10, end).noneMatch(move -> move == -1));
+        Assertions.assertTrue(Arrays.stream(moves, end, moves.length).allMatch(move -> move == -1));
+    }
+}
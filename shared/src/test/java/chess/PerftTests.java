@@ -0,0 +1,80 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+public class PerftTests {
+
+    // Node counts are the published perft results for each position. This rule set has
+    // no castling or en passant, so only depths where neither can happen are checked.
+
+    @Test
+    @DisplayName("Perft from the starting position")
+    public void startPosition() {
+        ChessGame game = new ChessGame();
+
+        Assertions.assertEquals(20, Perft.perft(game, 1));
+        Assertions.assertEquals(400, Perft.perft(game, 2));
+        Assertions.assertEquals(8902, Perft.perft(game, 3));
+        Assertions.assertEquals(197281, Perft.perft(game, 4));
+    }
+
+    @Test
+    @DisplayName("Perft from an endgame with checks and pins")
+    public void endgamePosition() {
+        ChessGame game = ChessGame.fromFen("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+
+        Assertions.assertEquals(14, Perft.perft(game, 1));
+        Assertions.assertEquals(191, Perft.perft(game, 2));
+        // The published 2812 includes 2 en passant captures
+        Assertions.assertEquals(2810, Perft.perft(game, 3));
+    }
+
+    @Test
+    @DisplayName("Perft from a middlegame")
+    public void middlegamePosition() {
+        ChessGame game = ChessGame.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+
+        Assertions.assertEquals(46, Perft.perft(game, 1));
+        Assertions.assertEquals(2079, Perft.perft(game, 2));
+        Assertions.assertEquals(89890, Perft.perft(game, 3));
+    }
+
+    @Test
+    @DisplayName("Perft leaves the game unchanged")
+    public void perftDoesNotModifyGame() {
+        ChessGame game = new ChessGame();
+        ChessBoard before = new ChessBoard(game.getBoard());
+
+        Perft.perft(game, 3);
+
+        Assertions.assertEquals(before, game.getBoard());
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn());
+    }
+
+    @Test
+    @DisplayName("Parallel perft matches serial perft")
+    public void parallelPerft() {
+        ChessGame game = new ChessGame();
+
+        ParallelAnalysis.PerftReport report = ParallelAnalysis.perft(game, 4);
+
+        Assertions.assertEquals(197281, report.nodes());
+        Assertions.assertEquals(report.nodes(), report.threads().stream().mapToLong(ParallelAnalysis.ThreadThroughput::nodes).sum());
+    }
+
+    @Test
+    @DisplayName("Bulk analysis reports every position in order")
+    public void bulkAnalysis() {
+        ChessGame start = new ChessGame();
+        ChessGame mate = ChessGame.fromFen("7k/6Q1/7K/8/8/8/8/8 b - - 0 1");
+
+        ParallelAnalysis.AnalysisReport report = ParallelAnalysis.analyze(List.of(start, mate), 3);
+
+        Assertions.assertEquals(8902, report.positions().get(0).perftNodes());
+        Assertions.assertEquals(20, report.positions().get(0).status().legalMoveCount());
+        Assertions.assertTrue(report.positions().get(1).status().checkmate());
+        Assertions.assertEquals(0, report.positions().get(1).perftNodes());
+    }
+}
@@ -0,0 +1,83 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class ZobristTests {
+
+    @Test
+    @DisplayName("Incremental key matches a key computed from scratch")
+    public void incrementalMatchesScratch() {
+        Random random = new Random(7);
+        BitBoard board = ChessGame.fromFen("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1")
+                .getBoard().getBitBoard();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int color = BitBoard.WHITE;
+
+        for (int ply = 0; ply < 200; ply++) {
+            Assertions.assertEquals(scratchKey(board), board.getZobristKey(), "Key differs after " + ply + " plies");
+
+            int count = MoveGenerator.generateLegalMoves(board, color, moves, 0);
+            if (count == 0) {
+                break;
+            }
+            board.makeMove(moves[random.nextInt(count)]);
+            color ^= 1;
+        }
+    }
+
+    @Test
+    @DisplayName("Same position reached by different move orders has the same key")
+    public void transpositions() throws InvalidMoveException {
+        ChessGame first = new ChessGame();
+        first.makeMove(new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null));
+        first.makeMove(new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null));
+        first.makeMove(new ChessMove(new ChessPosition(1, 2), new ChessPosition(3, 3), null));
+
+        ChessGame second = new ChessGame();
+        second.makeMove(new ChessMove(new ChessPosition(1, 2), new ChessPosition(3, 3), null));
+        second.makeMove(new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null));
+        second.makeMove(new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null));
+
+        Assertions.assertEquals(first.getPositionKey(), second.getPositionKey());
+        Assertions.assertNotEquals(new ChessGame().getPositionKey(), first.getPositionKey());
+    }
+
+    @Test
+    @DisplayName("Side to move is part of the position key")
+    public void sideToMove() {
+        ChessGame game = new ChessGame();
+        long white = game.getPositionKey();
+
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+
+        Assertions.assertEquals(white ^ Zobrist.SIDE_TO_MOVE, game.getPositionKey());
+        Assertions.assertEquals(game.getBoard().getBitBoard().getZobristKey(), white);
+    }
+
+    @Test
+    @DisplayName("Piece-square keys are distinct")
+    public void distinctKeys() {
+        Set<Long> keys = new HashSet<>();
+        for (int piece = 0; piece < 12; piece++) {
+            for (int square = 0; square < 64; square++) {
+                Assertions.assertTrue(keys.add(Zobrist.pieceSquare(piece, square)));
+            }
+        }
+        Assertions.assertTrue(keys.add(Zobrist.SIDE_TO_MOVE));
+    }
+
+    private static long scratchKey(BitBoard board) {
+        long key = 0;
+        for (int square = 0; square < 64; square++) {
+            int piece = board.pieceAt(square);
+            if (piece != BitBoard.EMPTY) {
+                key ^= Zobrist.pieceSquare(piece, square);
+            }
+        }
+        return key;
+    }
+}
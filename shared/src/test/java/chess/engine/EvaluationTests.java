@@ -0,0 +1,65 @@
+package chess.engine;
+
+import chess.BitBoard;
+import chess.ChessGame;
+import chess.MoveGenerator;
+import chess.PieceSquareTables;
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+public class EvaluationTests {
+
+    @Test
+    @DisplayName("Starting position is level and in the middlegame")
+    public void startPosition() {
+        BitBoard board = new ChessGame().getBoard().getBitBoard();
+
+        Assertions.assertEquals(0, Evaluation.evaluate(board, BitBoard.WHITE));
+        Assertions.assertEquals(PieceSquareTables.MAX_PHASE, board.getPhase());
+    }
+
+    @Test
+    @DisplayName("Extra material scores for its owner")
+    public void material() {
+        BitBoard board = ChessGame.fromFen("4k3/8/8/8/8/8/8/3QK3 w - - 0 1").getBoard().getBitBoard();
+
+        Assertions.assertTrue(Evaluation.evaluate(board, BitBoard.WHITE) > 800);
+        Assertions.assertEquals(-Evaluation.evaluate(board, BitBoard.WHITE), Evaluation.evaluate(board, BitBoard.BLACK));
+    }
+
+    @Test
+    @DisplayName("Evaluation is symmetric and incremental through random games")
+    public void symmetricThroughGames() {
+        Random random = new Random(23);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+        for (String fen : new String[]{
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"}) {
+            BitBoard board = ChessGame.fromFen(fen).getBoard().getBitBoard();
+            int color = BitBoard.WHITE;
+            int made = 0;
+
+            for (int ply = 0; ply < 80; ply++) {
+                Assertions.assertTrue(Evaluation.isSymmetric(board), "Asymmetric after " + ply + " plies of " + fen);
+                int count = MoveGenerator.generateLegalMoves(board, color, moves, 0);
+                if (count == 0) {
+                    break;
+                }
+                board.makeMove(moves[random.nextInt(count)]);
+                made++;
+                color ^= 1;
+            }
+
+            // Taking every move back must bring the totals back too
+            int end = Evaluation.evaluate(board, BitBoard.WHITE);
+            while (made-- > 0) {
+                board.unmakeMove();
+            }
+            Assertions.assertEquals(Evaluation.evaluateFromScratch(board, BitBoard.WHITE),
+                                    Evaluation.evaluate(board, BitBoard.WHITE), "After unmaking from " + end);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+public class LazySmpTests {
+
+    @Test
+    @DisplayName("Threads agree on a winning capture")
+    public void winsMaterial() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1");
+
+        try (LazySmp search = new LazySmp(3, new TranspositionTable(1))) {
+            SearchResult result = search.search(game, SearchLimits.depth(4));
+
+            Assertions.assertEquals(new ChessMove(new ChessPosition(1, 4), new ChessPosition(5, 4), null),
+                                    result.bestMove());
+            Assertions.assertEquals(4, result.depth());
+        }
+    }
+
+    @Test
+    @DisplayName("A time limit stops every thread")
+    public void timeLimit() {
+        try (LazySmp search = new LazySmp(2, new TranspositionTable(1))) {
+            long start = System.nanoTime();
+            SearchResult result = search.search(new ChessGame(), SearchLimits.time(200));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            Assertions.assertNotNull(result.bestMove());
+            Assertions.assertTrue(elapsedMillis < 2000, "Took " + elapsedMillis + " ms");
+        }
+    }
+
+    @Test
+    @DisplayName("An interrupted search stops its threads before the next search")
+    public void interrupted() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1");
+
+        try (LazySmp search = new LazySmp(3, new TranspositionTable(1))) {
+            Thread.currentThread().interrupt();
+            long start = System.nanoTime();
+            Assertions.assertThrows(IllegalStateException.class,
+                                    () -> search.search(game, SearchLimits.depth(SearchLimits.MAX_DEPTH)));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            Assertions.assertTrue(Thread.interrupted());
+            Assertions.assertTrue(elapsedMillis < 2000, "Took " + elapsedMillis + " ms");
+
+            SearchResult result = search.search(game, SearchLimits.depth(4));
+            Assertions.assertEquals(new ChessMove(new ChessPosition(1, 4), new ChessPosition(5, 4), null),
+                                    result.bestMove());
+        }
+    }
+
+    @Test
+    @DisplayName("Scaling is measured for each thread count")
+    public void scaling() {
+        List<LazySmp.ScalingReport> reports =
+                LazySmp.measureScaling(new ChessGame(), SearchLimits.depth(3), 3, 1);
+
+        Assertions.assertEquals(List.of(1, 2, 3), reports.stream().map(LazySmp.ScalingReport::threads).toList());
+        Assertions.assertEquals(1.0, reports.get(0).efficiency(), 1e-9);
+        for (LazySmp.ScalingReport report : reports) {
+            Assertions.assertEquals(3, report.result().depth());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package chess.engine;
+
+import chess.BitBoard;
+import chess.ChessGame;
+import chess.Move;
+import chess.MoveGenerator;
+import org.junit.jupiter.api.*;
+
+public class MoveOrderingTests {
+
+    private static int find(BitBoard board, int color, int from, int to) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegalMoves(board, color, moves, 0);
+        for (int i = 0; i < count; i++) {
+            if (Move.from(moves[i]) == from && Move.to(moves[i]) == to) {
+                return moves[i];
+            }
+        }
+        throw new AssertionError("No move from " + from + " to " + to);
+    }
+
+    @Test
+    @DisplayName("Static exchange counts recaptures and x-rays")
+    public void staticExchange() {
+        // The pawn wins the knight even after pawn takes pawn and queen takes back; the queen would lose itself
+        BitBoard board = ChessGame.fromFen("4k3/8/2p5/3n4/4P3/8/8/3QK3 w - - 0 1").getBoard().getBitBoard();
+        int pawnTakesKnight = find(board, BitBoard.WHITE, BitBoard.square(4, 5), BitBoard.square(5, 4));
+        int queenTakesKnight = find(board, BitBoard.WHITE, BitBoard.square(1, 4), BitBoard.square(5, 4));
+
+        Assertions.assertTrue(StaticExchange.isAtLeast(board, pawnTakesKnight, 0));
+        Assertions.assertTrue(StaticExchange.isAtLeast(board, pawnTakesKnight, 320));
+        Assertions.assertFalse(StaticExchange.isAtLeast(board, pawnTakesKnight, 321));
+        Assertions.assertFalse(StaticExchange.isAtLeast(board, queenTakesKnight, 0));
+
+        // Rook takes a pawn defended by a rook, backed up by a second rook behind the first
+        board = ChessGame.fromFen("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1").getBoard().getBitBoard();
+        int rookTakesPawn = find(board, BitBoard.WHITE, BitBoard.square(2, 4), BitBoard.square(5, 4));
+
+        Assertions.assertTrue(StaticExchange.isAtLeast(board, rookTakesPawn, 100));
+        Assertions.assertFalse(StaticExchange.isAtLeast(board, rookTakesPawn, 101));
+    }
+
+    @Test
+    @DisplayName("Hash move, good captures, killers, quiets, then bad captures")
+    public void order() {
+        BitBoard board = ChessGame.fromFen("4k3/8/2p5/3n4/4P3/8/8/3QK3 w - - 0 1").getBoard().getBitBoard();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegalMoves(board, BitBoard.WHITE, moves, 0);
+
+        int hashMove = find(board, BitBoard.WHITE, BitBoard.square(1, 5), BitBoard.square(2, 5));
+        int goodCapture = find(board, BitBoard.WHITE, BitBoard.square(4, 5), BitBoard.square(5, 4));
+        int killer = find(board, BitBoard.WHITE, BitBoard.square(1, 4), BitBoard.square(3, 6));
+        int badCapture = find(board, BitBoard.WHITE, BitBoard.square(1, 4), BitBoard.square(5, 4));
+
+        MoveOrdering ordering = new MoveOrdering();
+        ordering.newSearch();
+        ordering.recordCutoff(BitBoard.WHITE, killer, 3, 4, 2);
+        ordering.score(board, BitBoard.WHITE, moves, 0, count, hashMove, 3);
+        for (int i = 0; i < count; i++) {
+            ordering.next(moves, i, count);
+        }
+
+        Assertions.assertEquals(hashMove, moves[0]);
+        Assertions.assertEquals(goodCapture, moves[1]);
+        Assertions.assertEquals(killer, moves[2]);
+        Assertions.assertEquals(badCapture, moves[count - 1]);
+    }
+
+    @Test
+    @DisplayName("Search records how often the first move cuts off")
+    public void statistics() {
+        Search search = new Search(new TranspositionTable(1));
+        search.search(ChessGame.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"),
+                      SearchLimits.depth(4));
+
+        MoveOrdering.Statistics statistics = search.getOrderingStatistics();
+        Assertions.assertTrue(statistics.cutoffs() > 0);
+        Assertions.assertTrue(statistics.firstMoveCutoffRate() > 0.5, "Rate " + statistics.firstMoveCutoffRate());
+    }
+}
@@ -0,0 +1,109 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SearchTests {
+
+    @Test
+    @DisplayName("Search finds mate in one")
+    public void mateInOne() {
+        ChessGame game = ChessGame.fromFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(4));
+
+        Assertions.assertEquals(new ChessMove(new ChessPosition(1, 1), new ChessPosition(8, 1), null),
+                                result.bestMove());
+        Assertions.assertTrue(result.isMateScore());
+        Assertions.assertEquals(Search.MATE - 1, result.score());
+    }
+
+    @Test
+    @DisplayName("Search wins a hanging queen")
+    public void winsMaterial() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(3));
+
+        Assertions.assertEquals(new ChessMove(new ChessPosition(1, 4), new ChessPosition(5, 4), null),
+                                result.bestMove());
+        Assertions.assertEquals(3, result.depth());
+        Assertions.assertTrue(result.score() > 0);
+    }
+
+    @Test
+    @DisplayName("A time budget too large for nanoseconds does not stop the search")
+    public void hugeTimeBudget() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1");
+
+        SearchResult result = new Search().search(game, new SearchLimits(3, Long.MAX_VALUE / 2, SearchLimits.UNLIMITED));
+
+        Assertions.assertEquals(3, result.depth());
+    }
+
+    @Test
+    @DisplayName("Search stops within its node budget")
+    public void nodeBudget() {
+        SearchResult result = new Search().search(new ChessGame(), SearchLimits.nodes(20_000));
+
+        Assertions.assertNotNull(result.bestMove());
+        Assertions.assertTrue(result.depth() >= 1 && result.depth() < SearchLimits.MAX_DEPTH);
+        Assertions.assertTrue(result.nodes() < 20_000 + 1024, "Searched " + result.nodes() + " nodes");
+        Assertions.assertTrue(result.nodesPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Search stops at once when told to, even during the first iteration")
+    public void stopDuringFirstIteration() {
+        ChessGame game = ChessGame.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+
+        SearchResult result = new Search().search(game, SearchLimits.depth(SearchLimits.MAX_DEPTH), 0,
+                                                  new AtomicBoolean(true));
+
+        Assertions.assertEquals(0, result.depth());
+        Assertions.assertEquals(0, result.nodes());
+        Assertions.assertTrue(game.allValidMoves().contains(result.bestMove()));
+    }
+
+    @Test
+    @DisplayName("Search leaves the game unchanged")
+    public void gameUnchanged() {
+        ChessGame game = ChessGame.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+        String fen = game.toFen();
+
+        new Search().search(game, SearchLimits.depth(3));
+
+        Assertions.assertEquals(fen, game.toFen());
+    }
+
+    @Test
+    @DisplayName("Search with no legal moves has no best move")
+    public void noLegalMoves() {
+        SearchResult result = new Search().search(ChessGame.fromFen("k7/8/1Q6/8/8/8/8/7K b - - 0 1"),
+                                                  SearchLimits.depth(2));
+
+        Assertions.assertNull(result.bestMove());
+        Assertions.assertEquals(0, result.score());
+    }
+
+    @Test
+    @DisplayName("Quiescence sees the recapture past the horizon")
+    public void quiescence() {
+        // The pawn on d5 is defended, so taking it with the queen loses the queen
+        ChessGame game = ChessGame.fromFen("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1");
+        ChessMove queenTakesPawn = new ChessMove(new ChessPosition(1, 4), new ChessPosition(5, 4), null);
+
+        Search search = new Search(new TranspositionTable(1));
+        search.setQuiescence(false);
+        Assertions.assertEquals(queenTakesPawn, search.search(game, SearchLimits.depth(1)).bestMove());
+
+        search = new Search(new TranspositionTable(1));
+        SearchResult result = search.search(game, SearchLimits.depth(1));
+        Assertions.assertNotEquals(queenTakesPawn, result.bestMove());
+        Assertions.assertTrue(result.score() > 500, "Score " + result.score());
+    }
+}
@@ -0,0 +1,67 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.Move;
+import org.junit.jupiter.api.*;
+
+public class TranspositionTableTests {
+
+    @Test
+    @DisplayName("Stored entries are found with every field intact")
+    public void storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = Move.encode(12, 28, 0, Move.DOUBLE_PAWN_PUSH);
+
+        table.store(0x1234_5678_9ABC_DEF0L, move, -250, 7, TranspositionTable.LOWER_BOUND);
+        long entry = table.probe(0x1234_5678_9ABC_DEF0L);
+
+        Assertions.assertEquals(move, TranspositionTable.move(entry));
+        Assertions.assertEquals(-250, TranspositionTable.score(entry));
+        Assertions.assertEquals(7, TranspositionTable.depth(entry));
+        Assertions.assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        Assertions.assertEquals(0, table.probe(0x1234_5678_9ABC_DEF1L));
+    }
+
+    @Test
+    @DisplayName("Full buckets replace the shallowest entry")
+    public void replacement() {
+        TranspositionTable table = new TranspositionTable(1);
+        // Keys differing only above the index bits land in the same bucket
+        long stride = 1L << 56;
+        for (int i = 0; i < 4; i++) {
+            table.store(i * stride, Move.NONE, 0, 10 - i, TranspositionTable.EXACT);
+        }
+        table.store(4 * stride, Move.NONE, 0, 5, TranspositionTable.EXACT);
+
+        Assertions.assertNotEquals(0, table.probe(0));
+        Assertions.assertNotEquals(0, table.probe(2 * stride));
+        Assertions.assertEquals(0, table.probe(3 * stride));
+        Assertions.assertNotEquals(0, table.probe(4 * stride));
+    }
+
+    @Test
+    @DisplayName("Mate scores are stored relative to the entry's position")
+    public void mateScores() {
+        int score = Search.MATE - 5;
+        int stored = TranspositionTable.scoreToTable(score, 3);
+
+        Assertions.assertEquals(Search.MATE - 2, stored);
+        Assertions.assertEquals(Search.MATE - 6, TranspositionTable.scoreFromTable(stored, 4));
+        Assertions.assertEquals(120, TranspositionTable.scoreToTable(120, 3));
+    }
+
+    @Test
+    @DisplayName("Searching again reuses the table")
+    public void reuse() {
+        TranspositionTable table = new TranspositionTable(1);
+        ChessGame game = ChessGame.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+
+        SearchResult first = new Search(table).search(game, SearchLimits.depth(4));
+        SearchResult second = new Search(table).search(game, SearchLimits.depth(4));
+
+        Assertions.assertEquals(first.bestMove(), second.bestMove());
+        Assertions.assertEquals(first.score(), second.score());
+        Assertions.assertTrue(second.nodes() < first.nodes() / 2,
+                              second.nodes() + " nodes after " + first.nodes());
+    }
+}